@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -24,6 +25,8 @@ dependencyManagement {
 dependencies {
     implementation(libs.spring.boot.starter.web)
     implementation(libs.spring.boot.starter.validation)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -32,11 +35,21 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    sourceCompatibility = JavaVersion.VERSION_21
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
+}
+
+// benchmark tasks (src/jmh/java)
+// ./gradlew jmh -Pjmh.threads=16 -Pjmh.includes=PointServiceBenchmark
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results-${property("app.version")}.json"))
+    providers.gradleProperty("jmh.threads").orNull?.let { threads.set(it.toInt()) }
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
 }
 
 // bundling tasks
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
+import io.hhplus.tdd.common.pagination.PageRequest;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+
+/**
+ * 테이블의 지연(throttle) 없이 동작하는 PointHistoryRepository 대역입니다.
+ * 측정 중 내역이 계속 쌓여 GC가 결과를 흔들지 않도록, id만 발급하고 내역은 보관하지 않습니다.
+ */
+public class InMemoryPointHistoryRepository implements PointHistoryRepository {
+
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId, PageRequest pageRequest) {
+        return List.of();
+    }
+
+    @Override
+    public CursorPage<PointHistory> findAllByUserId(long userId, CursorRequest cursorRequest) {
+        return CursorPage.empty();
+    }
+
+    @Override
+    public PointHistory save(PointHistory pointHistory) {
+        return new PointHistory(cursor.getAndIncrement(), pointHistory.userId(), pointHistory.amount(),
+                pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    @Override
+    public PointSummary summarize(long userId, long fromMillis, long toMillis) {
+        return PointSummary.empty(userId, fromMillis, toMillis);
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+
+/**
+ * 테이블의 지연(throttle) 없이 동작하는 UserPointRepository 대역입니다.
+ * 서비스/락 비용만 측정하기 위해 벤치마크에서만 사용합니다.
+ * readDelayNanos를 주면 조회마다 그만큼 바쁜 대기를 해서 저장소 조회 지연을 흉내 냅니다.
+ */
+public class InMemoryUserPointRepository implements UserPointRepository {
+
+    private final ConcurrentHashMap<Long, VersionedUserPoint> table = new ConcurrentHashMap<>();
+    private final LockManager rowLocks = new LockManager();
+
+    private volatile long readDelayNanos;
+
+    @Override
+    public UserPoint findById(long id) {
+        return findVersionedById(id).userPoint();
+    }
+
+    @Override
+    public UserPoint save(UserPoint userPoint) {
+        table.compute(userPoint.id(), (k, v) -> new VersionedUserPoint(userPoint, v == null ? 1 : v.version() + 1));
+        return userPoint;
+    }
+
+    @Override
+    public VersionedUserPoint findVersionedById(long id) {
+        delay();
+        VersionedUserPoint versioned = table.get(id);
+        return versioned != null ? versioned : new VersionedUserPoint(UserPoint.empty(id), 0);
+    }
+
+    @Override
+    public Optional<UserPoint> compareAndSave(UserPoint userPoint, long expectedVersion) {
+        long id = userPoint.id();
+        ReentrantLock rowLock = rowLocks.acquire(id);
+        try {
+            if (!rowLock.tryLock()) {
+                return Optional.empty();
+            }
+            try {
+                boolean[] saved = new boolean[1];
+                table.compute(id, (k, v) -> {
+                    long current = v == null ? 0 : v.version();
+                    if (current != expectedVersion) {
+                        return v;
+                    }
+                    saved[0] = true;
+                    return new VersionedUserPoint(userPoint, current + 1);
+                });
+                return saved[0] ? Optional.of(userPoint) : Optional.empty();
+            } finally {
+                rowLock.unlock();
+            }
+        } finally {
+            rowLocks.release(id);
+        }
+    }
+
+    @Override
+    public <T> T writeLocked(long id, Supplier<T> action) {
+        ReentrantLock rowLock = rowLocks.lock(id);
+        try {
+            return action.get();
+        } finally {
+            rowLock.unlock();
+            rowLocks.release(id);
+        }
+    }
+
+    public void reset(int userCount, long point) {
+        table.clear();
+        for (long id = 0; id < userCount; id++) {
+            table.put(id, new VersionedUserPoint(new UserPoint(id, point, System.currentTimeMillis()), 1));
+        }
+    }
+
+    public void setReadDelayNanos(long readDelayNanos) {
+        this.readDelayNanos = readDelayNanos;
+    }
+
+    private void delay() {
+        long delay = readDelayNanos;
+        if (delay <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + delay;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크에서 사용할 회원 id 분포를 미리 만들어 둡니다.
+ * 측정 구간에서 난수 생성 비용이 섞이지 않도록 고정 길이 배열로 만들고, 스레드마다 순환하며 꺼내 씁니다.
+ * - uniform : 모든 회원이 같은 확률로 선택됩니다.
+ * - zipfian : 순위가 높은 소수 회원에게 요청이 몰립니다. (지수 0.99, YCSB 기본값)
+ */
+public final class UserKeys {
+
+    public static final int SIZE = 1 << 16;
+
+    private static final double ZIPFIAN_EXPONENT = 0.99;
+
+    private UserKeys() {}
+
+    public static long[] generate(String distribution, int userCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        return switch (distribution) {
+            case "uniform" -> random.longs(SIZE, 0, userCount).toArray();
+            case "zipfian" -> zipfian(random, userCount);
+            default -> throw new IllegalArgumentException("지원하지 않는 분포입니다. (" + distribution + ')');
+        };
+    }
+
+    private static long[] zipfian(SplittableRandom random, int userCount) {
+        double[] cumulative = new double[userCount];
+        double sum = 0;
+        for (int rank = 0; rank < userCount; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, ZIPFIAN_EXPONENT);
+            cumulative[rank] = sum;
+        }
+
+        long[] keys = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            keys[i] = rank >= 0 ? rank : Math.min(-rank - 1, userCount - 1);
+        }
+        return keys;
+    }
+}
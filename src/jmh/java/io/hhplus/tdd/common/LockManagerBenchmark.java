@@ -0,0 +1,73 @@
+package io.hhplus.tdd.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.hhplus.tdd.benchmark.UserKeys;
+
+/**
+ * 참조 카운트 맵 방식과 스트라이프 방식의 락 획득/반납 비용을 회원 분포별로 비교합니다.
+ * 임계 구역은 짧은 CPU 작업으로 대신해, 락 관리 비용 자체가 드러나도록 했습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LockManagerBenchmark {
+
+    @Param({"REF_COUNT", "STRIPED"})
+    private LockManager.Mode mode;
+
+    @Param({"uniform", "zipfian"})
+    private String distribution;
+
+    @Param({"10000"})
+    private int userCount;
+
+    private LockManager lockManager;
+    private long[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = ThreadLocalRandom.current().nextInt(UserKeys.SIZE);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lockManager = new LockManager(mode, 1024);
+        keys = UserKeys.generate(distribution, userCount, 42L);
+    }
+
+    @Benchmark
+    public void acquireAndRelease(Cursor cursor) {
+        long userId = keys[cursor.next++ & (UserKeys.SIZE - 1)];
+
+        ReentrantLock lock = lockManager.acquire(userId);
+        lock.lock();
+        try {
+            Blackhole.consumeCPU(32);
+        } finally {
+            lock.unlock();
+            lockManager.release(userId);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.hhplus.tdd.common.pagination;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepositoryImpl;
+import io.hhplus.tdd.point.infrastructure.PointLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 회원 한 명의 내역 크기에 따라 오프셋 페이징과 커서 페이징의 비용을 비교합니다.
+ * 조회 위치는 마지막 페이지로, 오프셋 방식에서 가장 불리한 경우입니다.
+ * 실제 조회 경로(회원별 내역 인덱스의 잠금과 PaginationManager.paging/seek)를 재도록 PointHistoryRepositoryImpl을 거쳐 조회합니다.
+ * 테이블 insert는 지연(throttle)이 있어 미리 채울 수 없으므로, 내역은 로그에서 복구된 내역으로 넣습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "100000"})
+    private int historyCount;
+
+    private static final long USER_ID = 0L;
+
+    private PointHistoryRepository pointHistoryRepository;
+    private PageRequest lastPage;
+    private CursorRequest lastCursor;
+
+    @Setup
+    public void setUp() {
+        List<PointHistory> histories = LongStream.rangeClosed(1, historyCount)
+                .mapToObj(id -> new PointHistory(id, USER_ID, 100L, TransactionType.CHARGE, id))
+                .toList();
+        PointLog pointLog = new PointLog() {
+            @Override
+            public void appendUserPoint(long id, long point) {
+            }
+
+            @Override
+            public void appendPointHistory(PointHistory pointHistory) {
+            }
+
+            @Override
+            public long recoveredHistoryCount() {
+                return histories.size();
+            }
+
+            @Override
+            public List<PointHistory> recoveredHistories(long userId) {
+                return userId == USER_ID ? histories : List.of();
+            }
+        };
+        pointHistoryRepository = new PointHistoryRepositoryImpl(new PointHistoryTable(), new PointMetrics(new SimpleMeterRegistry()), pointLog);
+
+        int lastPageNumber = (historyCount - 1) / PAGE_SIZE;
+        lastPage = new PageRequest(lastPageNumber, PAGE_SIZE);
+        lastCursor = new CursorRequest((long) lastPageNumber * PAGE_SIZE, PAGE_SIZE);
+        // 회원별 인덱스를 처음 채우는 비용은 측정에서 뺀다.
+        pointHistoryRepository.findAllByUserId(USER_ID, lastPage);
+    }
+
+    @Benchmark
+    public List<PointHistory> paging() {
+        return pointHistoryRepository.findAllByUserId(USER_ID, lastPage);
+    }
+
+    @Benchmark
+    public CursorPage<PointHistory> seek() {
+        return pointHistoryRepository.findAllByUserId(USER_ID, lastCursor);
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point.application;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.benchmark.InMemoryPointHistoryRepository;
+import io.hhplus.tdd.benchmark.InMemoryUserPointRepository;
+import io.hhplus.tdd.benchmark.UserKeys;
+import io.hhplus.tdd.common.KeyedSerialExecutor;
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.AtomicUserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 회원 수(경합 정도)와 조회 지연에 따라 락 경로와 낙관적 갱신 중 어느 쪽이 유리한지 비교합니다.
+ * - userCount=1 : 모든 스레드가 한 회원에 몰리므로 충돌이 잦고, 낙관적 갱신은 곧 락 경로로 전환됩니다.
+ * - userCount=10000 : 충돌이 드물어 낙관적 갱신은 조회 지연 동안 락을 잡지 않는 만큼 유리합니다.
+ * - readDelayNanos : 조회마다 더하는 지연으로, 락 경로에서는 이 시간 동안 회원 락을 보유하게 됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class OptimisticConcurrencyBenchmark {
+
+    private static final long AMOUNT = 1L;
+
+    public enum Concurrency {
+        PESSIMISTIC, OPTIMISTIC
+    }
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    private Concurrency mode;
+
+    @Param({"1", "64", "10000"})
+    private int userCount;
+
+    @Param({"0", "20000"})
+    private long readDelayNanos;
+
+    private InMemoryUserPointRepository userPointRepository;
+    private ShardedPointEngine shardedPointEngine;
+    private KeyedSerialExecutor keyedSerialExecutor;
+    private UserPointChangeHub userPointChangeHub;
+    private PointService pointService;
+    private long[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = ThreadLocalRandom.current().nextInt(UserKeys.SIZE);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LockManager lockManager = new LockManager();
+        userPointRepository = new InMemoryUserPointRepository();
+        userPointRepository.setReadDelayNanos(readDelayNanos);
+        InMemoryPointHistoryRepository pointHistoryRepository = new InMemoryPointHistoryRepository();
+
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+        PointWriteCombiner pointWriteCombiner = new PointWriteCombiner(lockManager, userPointRepository, pointHistoryRepository,
+                pointMetrics, false);
+        OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(lockManager, userPointRepository, pointHistoryRepository,
+                pointMetrics, mode == Concurrency.OPTIMISTIC, 3, 5000L, 0L);
+        shardedPointEngine = new ShardedPointEngine(pointWriteCombiner, false, 0, 1, 0L);
+        LockFreePointUpdater lockFreePointUpdater = new LockFreePointUpdater((AtomicUserPointRepository) null, null, pointMetrics);
+        PointReadCoalescer pointReadCoalescer = new PointReadCoalescer(userPointRepository, pointHistoryRepository, pointMetrics, true);
+        keyedSerialExecutor = new KeyedSerialExecutor(1);
+        userPointChangeHub = new UserPointChangeHub(userPointRepository, 1, 0L);
+        pointService = new PointServiceImpl(lockManager, userPointRepository, pointHistoryRepository, pointReadCoalescer, pointWriteCombiner,
+                optimisticPointUpdater, shardedPointEngine, lockFreePointUpdater, keyedSerialExecutor, userPointChangeHub, pointMetrics);
+        keys = UserKeys.generate("uniform", userCount, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        shardedPointEngine.shutdown();
+        keyedSerialExecutor.shutdown();
+        userPointChangeHub.shutdown();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalances() {
+        userPointRepository.reset(userCount, PointPolicy.MAX_AMOUNT / 2);
+    }
+
+    @Benchmark
+    public UserPoint chargeUserPoint(Cursor cursor) {
+        return pointService.chargeUserPoint(keys[cursor.next++ & (UserKeys.SIZE - 1)], AMOUNT);
+    }
+}
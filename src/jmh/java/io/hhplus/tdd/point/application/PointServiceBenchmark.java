@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point.application;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.benchmark.InMemoryPointHistoryRepository;
+import io.hhplus.tdd.benchmark.InMemoryUserPointRepository;
+import io.hhplus.tdd.benchmark.UserKeys;
+import io.hhplus.tdd.common.KeyedSerialExecutor;
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.AtomicUserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 테이블 지연을 제외한 충전/사용 경로(검증, 락 또는 샤드 작성기, 저장 호출)의 비용을 측정합니다.
+ * 매 반복마다 모든 회원의 잔액을 한도의 절반으로 되돌려, 측정 중 한도 초과/잔액 부족이 나지 않도록 했습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class PointServiceBenchmark {
+
+    private static final long AMOUNT = 1L;
+
+    @Param({"REF_COUNT", "STRIPED"})
+    private LockManager.Mode lockMode;
+
+    public enum WritePath {
+        LOCK, COMBINING, SHARDED
+    }
+
+    @Param({"LOCK", "COMBINING", "SHARDED"})
+    private WritePath writePath;
+
+    @Param({"uniform", "zipfian"})
+    private String distribution;
+
+    @Param({"10000"})
+    private int userCount;
+
+    private InMemoryUserPointRepository userPointRepository;
+    private ShardedPointEngine shardedPointEngine;
+    private KeyedSerialExecutor keyedSerialExecutor;
+    private UserPointChangeHub userPointChangeHub;
+    private PointService pointService;
+    private long[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = ThreadLocalRandom.current().nextInt(UserKeys.SIZE);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LockManager lockManager = new LockManager(lockMode, 1024);
+        userPointRepository = new InMemoryUserPointRepository();
+        InMemoryPointHistoryRepository pointHistoryRepository = new InMemoryPointHistoryRepository();
+
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+        PointWriteCombiner pointWriteCombiner = new PointWriteCombiner(lockManager, userPointRepository, pointHistoryRepository,
+                pointMetrics, writePath == WritePath.COMBINING);
+        OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(lockManager, userPointRepository, pointHistoryRepository,
+                pointMetrics, false, 3, 5000L, 0L);
+        shardedPointEngine = new ShardedPointEngine(pointWriteCombiner, writePath == WritePath.SHARDED, 0, 4096, 1000L);
+        LockFreePointUpdater lockFreePointUpdater = new LockFreePointUpdater((AtomicUserPointRepository) null, null, pointMetrics);
+        PointReadCoalescer pointReadCoalescer = new PointReadCoalescer(userPointRepository, pointHistoryRepository, pointMetrics, true);
+        keyedSerialExecutor = new KeyedSerialExecutor(1);
+        userPointChangeHub = new UserPointChangeHub(userPointRepository, 1, 0L);
+        pointService = new PointServiceImpl(lockManager, userPointRepository, pointHistoryRepository, pointReadCoalescer, pointWriteCombiner,
+                optimisticPointUpdater, shardedPointEngine, lockFreePointUpdater, keyedSerialExecutor, userPointChangeHub, pointMetrics);
+        keys = UserKeys.generate(distribution, userCount, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        shardedPointEngine.shutdown();
+        keyedSerialExecutor.shutdown();
+        userPointChangeHub.shutdown();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalances() {
+        userPointRepository.reset(userCount, PointPolicy.MAX_AMOUNT / 2);
+    }
+
+    @Benchmark
+    public UserPoint chargeUserPoint(Cursor cursor) {
+        return pointService.chargeUserPoint(keys[cursor.next++ & (UserKeys.SIZE - 1)], AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint useUserPoint(Cursor cursor) {
+        return pointService.useUserPoint(keys[cursor.next++ & (UserKeys.SIZE - 1)], AMOUNT);
+    }
+}
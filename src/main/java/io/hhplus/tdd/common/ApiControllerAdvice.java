@@ -2,6 +2,11 @@ package io.hhplus.tdd.common;
 
 import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
 import io.hhplus.tdd.common.exception.ChargePointFailureException;
+import io.hhplus.tdd.common.exception.LockTimeoutException;
+import io.hhplus.tdd.common.exception.LockWaitQueueFullException;
+import io.hhplus.tdd.common.exception.PointHistoryBufferFullException;
+import io.hhplus.tdd.common.exception.TransferNotSupportedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -23,6 +28,34 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
 		return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
 	}
 
+	/**
+	 * 같은 회원의 요청이 이미 많이 밀려 있어 줄을 세우지 않고 거절한 경우
+	 */
+	@ExceptionHandler(value = LockWaitQueueFullException.class)
+	public ResponseEntity<ErrorResponse> handleLockWaitQueueFullException(LockWaitQueueFullException e) {
+		return ResponseEntity.status(429)
+			.header(HttpHeaders.RETRY_AFTER, "1")
+			.body(new ErrorResponse("429", e.getMessage()));
+	}
+
+	/**
+	 * 제한 시간 안에 회원 락을 얻지 못했거나, 포인트 내역 링 버퍼가 가득 차 내역을 기록할 자리가 없는 경우
+	 */
+	@ExceptionHandler(value = {LockTimeoutException.class, PointHistoryBufferFullException.class})
+	public ResponseEntity<ErrorResponse> handleLockTimeoutException(RuntimeException e) {
+		return ResponseEntity.status(503)
+			.header(HttpHeaders.RETRY_AFTER, "1")
+			.body(new ErrorResponse("503", e.getMessage()));
+	}
+
+	/**
+	 * 샤드 엔진이나 원자적 셀 저장소를 쓰는 중이라 두 회원의 변경을 함께 반영할 수 없어 이체를 거절한 경우
+	 */
+	@ExceptionHandler(value = TransferNotSupportedException.class)
+	public ResponseEntity<ErrorResponse> handleTransferNotSupportedException(TransferNotSupportedException e) {
+		return ResponseEntity.status(501).body(new ErrorResponse("501", e.getMessage()));
+	}
+
     @ExceptionHandler(value = {ChargePointFailureException.class, UsePointFailureException.class})
     public ResponseEntity<ErrorResponse> handleChargePointFailureException(RuntimeException e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", e.getMessage()));
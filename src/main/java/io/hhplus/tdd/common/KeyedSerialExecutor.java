@@ -0,0 +1,161 @@
+package io.hhplus.tdd.common;
+
+import io.hhplus.tdd.common.exception.LockWaitQueueFullException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키(회원 id)의 작업은 제출 순서대로 하나씩, 다른 키의 작업은 공용 워커에서 병렬로 실행합니다.
+ * 같은 키의 작업이 서로를 락으로 기다리지 않으므로, 호출 스레드는 결과 future만 받고 바로 반환됩니다.
+ * 한 키에 이미 maxQueuedPerKey개가 밀려 있으면 줄을 세우지 않고 LockWaitQueueFullException으로 future를 실패시킵니다. (0이면 제한 없음)
+ * 요청은 회원 락 대신 이 대기열에서 기다리므로, LockManager의 대기 줄 제한(max-waiters)은 줄을 세울 때,
+ * 제한 시간(timeout-millis)은 제출된 시각부터 재어 차례가 왔을 때 적용합니다.
+ */
+@Component
+public class KeyedSerialExecutor {
+
+    /** 한 키가 워커를 독점하지 않도록, 이만큼 실행한 뒤에는 워커를 양보한다. */
+    private static final int MAX_TASKS_PER_TURN = 16;
+
+    private static class SerialQueue {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+    }
+
+    private final ExecutorService workers;
+    private final int maxQueuedPerKey;
+    private final LockManager lockManager;
+
+    /** 키별 대기열. 상태 변경은 모두 compute 안에서만 일어나며, 비면 제거한다. */
+    private final ConcurrentHashMap<Long, SerialQueue> queues = new ConcurrentHashMap<>();
+
+    public KeyedSerialExecutor(int workerCount) {
+        this(workerCount, new LockManager());
+    }
+
+    public KeyedSerialExecutor(int workerCount, LockManager lockManager) {
+        this(newWorkers(workerCount), 0, lockManager);
+    }
+
+    /**
+     * 가상 스레드를 쓰면 작업마다 스레드를 새로 만들고 workerCount는 무시한다.
+     * 작업이 테이블 지연이나 락 대기로 멈춰 있는 동안 캐리어 스레드를 다른 작업에 내줄 수 있다.
+     */
+    @Autowired
+    public KeyedSerialExecutor(
+            @Value("${point.async.workers:64}") int workerCount,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${point.async.max-queued-per-key:1024}") int maxQueuedPerKey,
+            LockManager lockManager
+    ) {
+        this(virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : newWorkers(workerCount), maxQueuedPerKey, lockManager);
+    }
+
+    KeyedSerialExecutor(ExecutorService workers, int maxQueuedPerKey, LockManager lockManager) {
+        if (maxQueuedPerKey < 0) {
+            throw new IllegalArgumentException("maxQueuedPerKey 값은 0 이상이어야 합니다.");
+        }
+
+        this.workers = workers;
+        this.maxQueuedPerKey = maxQueuedPerKey;
+        this.lockManager = lockManager;
+    }
+
+    public <T> CompletableFuture<T> submit(long key, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long arrivedNanos = System.nanoTime();
+        Runnable runnable = () -> {
+            try {
+                lockManager.checkDeadline(key, arrivedNanos);
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        RuntimeException[] rejected = new RuntimeException[1];
+        queues.compute(key, (k, queue) -> {
+            if (queue == null) {
+                queue = new SerialQueue();
+            }
+            if (maxQueuedPerKey > 0 && queue.tasks.size() >= maxQueuedPerKey) {
+                rejected[0] = new LockWaitQueueFullException("요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요. (회원: " + k + ')');
+                return queue;
+            }
+            try {
+                lockManager.checkWaiters(k, queue.tasks.size());
+            } catch (RuntimeException e) {
+                rejected[0] = e;
+                return queue;
+            }
+            queue.tasks.add(runnable);
+
+            if (!queue.scheduled) {
+                queue.scheduled = true;
+                workers.execute(() -> drain(k));
+            }
+            return queue;
+        });
+
+        if (rejected[0] != null) {
+            future.completeExceptionally(rejected[0]);
+        }
+        return future;
+    }
+
+    private void drain(long key) {
+        for (int i = 0; i < MAX_TASKS_PER_TURN; i++) {
+            Runnable[] next = new Runnable[1];
+            queues.compute(key, (k, queue) -> {
+                next[0] = queue.tasks.poll();
+                if (next[0] == null) {
+                    return null;
+                }
+                return queue;
+            });
+
+            if (next[0] == null) {
+                return;
+            }
+            next[0].run();
+        }
+
+        // 남은 작업은 다른 키의 작업 뒤에 다시 줄을 세운다.
+        queues.compute(key, (k, queue) -> {
+            if (queue.tasks.isEmpty()) {
+                return null;
+            }
+            workers.execute(() -> drain(k));
+            return queue;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private static ExecutorService newWorkers(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount 값은 1 이상이어야 합니다.");
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "keyed-serial-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -1,25 +1,114 @@
 package io.hhplus.tdd.common;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
+import io.hhplus.tdd.common.exception.LockTimeoutException;
+import io.hhplus.tdd.common.exception.LockWaitQueueFullException;
+
+/**
+ * 회원별 락을 제공합니다.
+ * - REF_COUNT : 회원마다 락을 만들고 참조 카운트가 0이 되면 제거합니다. 회원 간 간섭이 전혀 없습니다.
+ * - STRIPED : 고정된 개수의 락 배열에서 회원 id의 해시로 락을 고릅니다. 획득/반납 시 할당과 맵 갱신이 없지만,
+ *             같은 락을 나눠 쓰는 회원끼리는 서로 기다릴 수 있습니다.
+ * lock()으로 잠그면 아래 설정에 따라 과부하 시 기다리지 않고 요청을 거절합니다.
+ * - timeoutMillis : 이 시간 안에 락을 얻지 못하면 LockTimeoutException (0이면 제한 없이 기다림)
+ * - maxWaiters : 이미 이만큼 기다리고 있으면 줄을 서지 않고 LockWaitQueueFullException (0이면 제한 없음)
+ * - fair : 오래 기다린 스레드부터 락을 얻도록 공정 모드로 만듭니다. 처리량은 줄지만 대기 시간 편차가 작아집니다.
+ */
 @Component
 public class LockManager {
 
+    public enum Mode {
+        REF_COUNT, STRIPED
+    }
+
     private static class LockRef {
-        private final ReentrantLock lock = new ReentrantLock();
+        private final ReentrantLock lock;
         private final AtomicInteger ref = new AtomicInteger(0);
+
+        private LockRef(boolean fair) {
+            this.lock = new ReentrantLock(fair);
+        }
     }
 
     private final ConcurrentHashMap<Long, LockRef> lockRefs = new ConcurrentHashMap<>();
 
-    public ReentrantLock acquire(Long userId) {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    private final boolean fair;
+    private final long timeoutMillis;
+    private final int maxWaiters;
+
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder queueFullRejections = new LongAdder();
+
+    public LockManager() {
+        this(Mode.REF_COUNT, 0);
+    }
+
+    public LockManager(Mode mode, int stripeCount) {
+        this(mode, stripeCount, false, 0L, 0);
+    }
+
+    @Autowired
+    public LockManager(
+            @Value("${point.lock.mode:REF_COUNT}") Mode mode,
+            @Value("${point.lock.stripes:1024}") int stripeCount,
+            @Value("${point.lock.fair:false}") boolean fair,
+            @Value("${point.lock.timeout-millis:0}") long timeoutMillis,
+            @Value("${point.lock.max-waiters:0}") int maxWaiters
+    ) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("timeoutMillis 값은 0 이상이어야 합니다.");
+        }
+        if (maxWaiters < 0) {
+            throw new IllegalArgumentException("maxWaiters 값은 0 이상이어야 합니다.");
+        }
+
+        this.fair = fair;
+        this.timeoutMillis = timeoutMillis;
+        this.maxWaiters = maxWaiters;
+
+        if (mode == Mode.STRIPED) {
+            if (stripeCount < 1) {
+                throw new IllegalArgumentException("stripeCount 값은 1 이상이어야 합니다.");
+            }
+
+            int size = 1;
+            while (size < stripeCount) {
+                size <<= 1;
+            }
+
+            // 경합하는 상태는 ReentrantLock이 따로 만드는 내부 객체(Sync)에 있어 락 객체에 필드를 덧대도 떨어뜨릴 수 없고,
+            // GC가 객체를 옮기면 할당 순서도 유지되지 않으므로 패딩하지 않는다.
+            this.stripes = new ReentrantLock[size];
+            for (int i = 0; i < size; i++) {
+                stripes[i] = new ReentrantLock(fair);
+            }
+            this.mask = size - 1;
+        } else {
+            this.stripes = null;
+            this.mask = 0;
+        }
+    }
+
+    public ReentrantLock acquire(long userId) {
+        if (stripes != null) {
+            return stripes[stripeIndex(userId)];
+        }
+
         LockRef lockRef = lockRefs.compute(userId, (k, v) -> {
             if (v == null) {
-                v = new LockRef();
+                v = new LockRef(fair);
             }
             v.ref.incrementAndGet();
             return v;
@@ -28,7 +117,83 @@ public class LockManager {
         return lockRef.lock;
     }
 
-    public void release(Long userId) {
+    /**
+     * 회원 락을 참조하고 잠근 뒤 반환합니다. 사용이 끝나면 unlock() 후 release(userId)를 호출해야 합니다.
+     * 대기 줄이 가득 찼거나 제한 시간 안에 잠그지 못하면 참조를 되돌리고 예외를 던집니다.
+     * STRIPED 모드에서는 같은 락을 나눠 쓰는 다른 회원의 대기도 대기 줄 길이에 포함됩니다.
+     */
+    public ReentrantLock lock(long userId) {
+        ReentrantLock lock = acquire(userId);
+
+        try {
+            if (maxWaiters > 0 && lock.getQueueLength() >= maxWaiters && !lock.isHeldByCurrentThread()) {
+                queueFullRejections.increment();
+                throw new LockWaitQueueFullException("요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요. (회원: " + userId + ')');
+            }
+
+            if (timeoutMillis == 0) {
+                lock.lock();
+                return lock;
+            }
+
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new LockTimeoutException("처리가 지연되고 있습니다. 잠시 후 다시 시도해주세요. (회원: " + userId + ')');
+            }
+            return lock;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(userId);
+            throw new LockTimeoutException("락 대기 중 중단되었습니다. (회원: " + userId + ')');
+        } catch (RuntimeException e) {
+            release(userId);
+            throw e;
+        }
+    }
+
+    /**
+     * 회원 락이 아닌 다른 대기열(회원별 직렬 실행기)에서 기다리는 요청에 대기 줄 제한을 적용합니다.
+     * 그 회원 앞에 이미 queued개가 밀려 있고 maxWaiters 이상이면 LockWaitQueueFullException을 던집니다.
+     */
+    public void checkWaiters(long userId, int queued) {
+        if (maxWaiters > 0 && queued >= maxWaiters) {
+            queueFullRejections.increment();
+            throw new LockWaitQueueFullException("요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요. (회원: " + userId + ')');
+        }
+    }
+
+    /**
+     * 회원 락이 아닌 다른 대기열에서 기다린 요청에 제한 시간을 적용합니다.
+     * 요청이 도착한 시각(arrivedNanos, System.nanoTime() 기준)부터 timeoutMillis가 지났으면 LockTimeoutException을 던집니다.
+     */
+    public void checkDeadline(long userId, long arrivedNanos) {
+        if (timeoutMillis > 0 && System.nanoTime() - arrivedNanos > TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+            timeouts.increment();
+            throw new LockTimeoutException("처리가 지연되고 있습니다. 잠시 후 다시 시도해주세요. (회원: " + userId + ')');
+        }
+    }
+
+    /**
+     * 두 회원의 락을 함께 잠글 때 먼저 잠가야 하는 회원을 반환합니다. 모두가 이 순서를 따르면 서로를 기다리는 교착이 생기지 않습니다.
+     * STRIPED 모드에서는 회원 id가 아니라 실제로 잠그는 스트라이프의 순서를 따르며,
+     * 두 회원이 같은 스트라이프를 쓰면 두 번째 lock()은 재진입이므로 어느 쪽을 먼저 잠가도 됩니다.
+     */
+    public long firstToLock(long userId, long otherUserId) {
+        if (stripes != null) {
+            int index = stripeIndex(userId);
+            int otherIndex = stripeIndex(otherUserId);
+            if (index != otherIndex) {
+                return index < otherIndex ? userId : otherUserId;
+            }
+        }
+        return Math.min(userId, otherUserId);
+    }
+
+    public void release(long userId) {
+        if (stripes != null) {
+            return;
+        }
+
         lockRefs.compute(userId, (k, v) -> {
             boolean isAlreadyRemoved = v == null;
             if (isAlreadyRemoved) {
@@ -43,4 +208,31 @@ public class LockManager {
             return null;
         });
     }
+
+    /**
+     * 현재 참조 중인 회원 락 수입니다. STRIPED 모드에서는 락을 만들고 지우지 않으므로 항상 0입니다.
+     */
+    public int activeLocks() {
+        return lockRefs.size();
+    }
+
+    /**
+     * 제한 시간 안에 락을 얻지 못해 거절한 횟수입니다.
+     */
+    public long timeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * 대기 줄이 가득 차 거절한 횟수입니다.
+     */
+    public long queueFullCount() {
+        return queueFullRejections.sum();
+    }
+
+    private int stripeIndex(long userId) {
+        // 연속된 id가 이웃한 락에 몰리지 않도록 곱셈 해시로 비트를 섞는다.
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
 }
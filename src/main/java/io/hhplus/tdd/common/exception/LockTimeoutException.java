@@ -0,0 +1,16 @@
+package io.hhplus.tdd.common.exception;
+
+public class LockTimeoutException extends RuntimeException {
+
+    public LockTimeoutException() {
+        super();
+    }
+
+    public LockTimeoutException(String message) {
+        super(message);
+    }
+
+    public LockTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
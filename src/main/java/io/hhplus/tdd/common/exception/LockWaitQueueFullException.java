@@ -0,0 +1,16 @@
+package io.hhplus.tdd.common.exception;
+
+public class LockWaitQueueFullException extends RuntimeException {
+
+    public LockWaitQueueFullException() {
+        super();
+    }
+
+    public LockWaitQueueFullException(String message) {
+        super(message);
+    }
+
+    public LockWaitQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.common.exception;
+
+public class PointHistoryBufferFullException extends RuntimeException {
+
+    public PointHistoryBufferFullException() {
+        super();
+    }
+
+    public PointHistoryBufferFullException(String message) {
+        super(message);
+    }
+
+    public PointHistoryBufferFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
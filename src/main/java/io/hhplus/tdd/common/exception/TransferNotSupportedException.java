@@ -0,0 +1,16 @@
+package io.hhplus.tdd.common.exception;
+
+public class TransferNotSupportedException extends RuntimeException {
+
+    public TransferNotSupportedException() {
+        super();
+    }
+
+    public TransferNotSupportedException(String message) {
+        super(message);
+    }
+
+    public TransferNotSupportedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.common.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.common.LockManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원 락의 조회 시점 상태를 읽어 오는 게이지와 누적 카운터를 등록합니다.
+ * 샤드 엔진, 저장소처럼 point 패키지에 있는 구성 요소의 지표는 그 패키지의 MeterBinder가 등록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointMeterBinder implements MeterBinder {
+
+	private final LockManager lockManager;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("point.lock.active", lockManager, LockManager::activeLocks)
+			.description("참조 중인 회원 락 수 (REF_COUNT 모드)")
+			.register(registry);
+		FunctionCounter.builder("point.lock.rejected", lockManager, LockManager::timeoutCount)
+			.description("회원 락을 얻지 못해 거절한 요청 수")
+			.tag("reason", "timeout")
+			.register(registry);
+		FunctionCounter.builder("point.lock.rejected", lockManager, LockManager::queueFullCount)
+			.description("회원 락을 얻지 못해 거절한 요청 수")
+			.tag("reason", "queue_full")
+			.register(registry);
+	}
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.common.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 포인트 처리 경로의 지연 시간과 실패 횟수를 기록합니다.
+ * - point.lock.wait / point.lock.hold : 작업(operation)별 회원 락 대기/보유 시간
+ * - point.table.call : 테이블(table), 메서드(method)별 호출 시간
+ * - point.rollback : UserPoint 롤백 결과(result=success|failure)별 횟수
+ * - point.amount.exceeded : 작업별 AmountExceedBalanceException 발생 횟수
+ * - point.optimistic : 낙관적 갱신 결과(outcome=success|conflict|fallback)별 횟수
+ * - point.read.coalesced : 진행 중인 같은 조회에 합류해 저장소 호출을 생략한 횟수 (target=user_point|point_history)
+ * - point.idempotency.replayed : 같은 Idempotency-Key 요청을 처리 없이 보관된 결과로 응답한 횟수 (operation=charge|use)
+ * 회원 id는 태그로 쓰지 않고, 락 대기가 길어진 회원만 로그로 남깁니다.
+ */
+@Slf4j
+@Component
+public class PointMetrics {
+
+	private static final long SLOW_LOCK_WAIT_NANOS = Duration.ofMillis(500).toNanos();
+
+	private final MeterRegistry meterRegistry;
+
+	// 태그 값의 종류가 적고 고정되어 있으므로, 요청마다 빌더로 레지스트리를 조회하지 않도록 태그 조합별로 한 번만 등록해 둔다.
+	private final ConcurrentHashMap<String, Timer> lockWaitTimers = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Timer> lockHoldTimers = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, ConcurrentHashMap<String, Timer>> tableCallTimers = new ConcurrentHashMap<>();
+	private final Counter rollbackSuccess;
+	private final Counter rollbackFailure;
+	private final ConcurrentHashMap<String, Counter> amountExceededCounters = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Counter> coalescedReadCounters = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Counter> idempotentReplayCounters = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Counter> optimisticCounters = new ConcurrentHashMap<>();
+
+	public PointMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.rollbackSuccess = counter("point.rollback", "result", "success");
+		this.rollbackFailure = counter("point.rollback", "result", "failure");
+	}
+
+	public void recordLockWait(String operation, long userId, long nanos) {
+		cached(lockWaitTimers, operation, o -> timer("point.lock.wait", "operation", o))
+			.record(nanos, TimeUnit.NANOSECONDS);
+
+		if (nanos >= SLOW_LOCK_WAIT_NANOS) {
+			log.warn("회원 락 대기가 길어지고 있습니다. (회원: {}, 작업: {}, 대기: {}ms)", userId, operation, TimeUnit.NANOSECONDS.toMillis(nanos));
+		}
+	}
+
+	public void recordLockHold(String operation, long nanos) {
+		cached(lockHoldTimers, operation, o -> timer("point.lock.hold", "operation", o))
+			.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public <T> T recordTableCall(String table, String method, Supplier<T> call) {
+		ConcurrentHashMap<String, Timer> methodTimers = cached(tableCallTimers, table, t -> new ConcurrentHashMap<>());
+		return cached(methodTimers, method, m -> timer("point.table.call", "table", table, "method", m))
+			.record(call);
+	}
+
+	public void countRollback(boolean success) {
+		(success ? rollbackSuccess : rollbackFailure).increment();
+	}
+
+	public void countAmountExceeded(String operation) {
+		cached(amountExceededCounters, operation, o -> counter("point.amount.exceeded", "operation", o)).increment();
+	}
+
+	public void countCoalescedRead(String target) {
+		cached(coalescedReadCounters, target, t -> counter("point.read.coalesced", "target", t)).increment();
+	}
+
+	public void countIdempotentReplay(String operation) {
+		cached(idempotentReplayCounters, operation, o -> counter("point.idempotency.replayed", "operation", o)).increment();
+	}
+
+	public void countOptimistic(String outcome) {
+		cached(optimisticCounters, outcome, o -> counter("point.optimistic", "outcome", o)).increment();
+	}
+
+	/**
+	 * 이미 등록한 지표는 조회만 하고, 처음 보는 태그 값일 때만 등록합니다.
+	 */
+	private static <M> M cached(ConcurrentHashMap<String, M> meters, String tagValue, Function<String, M> register) {
+		M meter = meters.get(tagValue);
+		return meter != null ? meter : meters.computeIfAbsent(tagValue, register);
+	}
+
+	private Timer timer(String name, String... tags) {
+		return Timer.builder(name)
+			.tags(tags)
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+	}
+
+	private Counter counter(String name, String... tags) {
+		return Counter.builder(name)
+			.tags(tags)
+			.register(meterRegistry);
+	}
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.common.pagination;
+
+import java.util.List;
+
+/**
+ * 커서 기반 페이지 응답. 다음 페이지가 없으면 nextCursor는 null입니다.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null);
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.common.pagination;
+
+/**
+ * 커서 기반 페이지 요청. after 이후(after 미포함)의 항목을 size개까지 요청합니다.
+ * 첫 페이지는 after = 0으로 요청합니다.
+ */
+public record CursorRequest(long after, int size) {
+
+    public CursorRequest {
+        if (after < 0) {
+            throw new IllegalArgumentException("after 값은 0 이상이어야 합니다.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("size 값은 1 이상이어야 합니다.");
+        }
+        if (size > PageRequest.MAX_SIZE) {
+            throw new IllegalArgumentException("size 값은 최대 " + PageRequest.MAX_SIZE + "까지 허용됩니다.");
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package io.hhplus.tdd.common.pagination;
 
 public record PageRequest(int page, int size) {
-    private static final int MAX_SIZE = 100;
+    static final int MAX_SIZE = 100;
 
     public PageRequest {
         if (page < 0) {
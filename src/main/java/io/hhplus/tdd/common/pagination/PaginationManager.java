@@ -2,6 +2,7 @@ package io.hhplus.tdd.common.pagination;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.ToLongFunction;
 
 public final class PaginationManager {
 
@@ -20,4 +21,34 @@ public final class PaginationManager {
 
         return source.subList(offset, limit);
     }
+
+    /**
+     * key 오름차순으로 정렬된 source에서 커서 다음 위치를 이진 탐색으로 찾아 size개를 잘라냅니다.
+     * 앞 페이지들을 다시 훑지 않으므로 비용은 O(log n + size)입니다.
+     */
+    public static <T> CursorPage<T> seek(List<T> source, CursorRequest request, ToLongFunction<T> keyExtractor) {
+        Objects.requireNonNull(source, "source 값은 null일 수 없습니다.");
+        Objects.requireNonNull(request, "request 값은 null일 수 없습니다.");
+
+        int low = 0;
+        int high = source.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyExtractor.applyAsLong(source.get(mid)) <= request.after()) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        if (low >= source.size()) {
+            return CursorPage.empty();
+        }
+
+        int limit = Math.min(low + request.size(), source.size());
+        List<T> items = List.copyOf(source.subList(low, limit));
+        Long nextCursor = limit < source.size() ? keyExtractor.applyAsLong(items.get(items.size() - 1)) : null;
+
+        return new CursorPage<>(items, nextCursor);
+    }
 }
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point.application;
+
+import static io.hhplus.tdd.point.domain.TransactionType.*;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
+import io.hhplus.tdd.common.exception.PointHistoryBufferFullException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.AtomicUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRing;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 잔액을 원자적 셀에 보관하는 경우(lockfree 프로필) 충전/사용을 락 없이 반영합니다.
+ * - 내역 링 버퍼의 자리를 먼저 예약하고, 잔액은 CAS 반복으로 바꾸며, 마지막으로 예약한 자리에 내역을 채웁니다.
+ * - 한도 초과/잔액 부족이면 잔액을 바꾸지 않고 예약한 자리를 건너뛰기로 채우므로 롤백할 것이 없습니다.
+ * - 링 버퍼가 가득 차 자리를 예약하지 못하면 잔액을 바꾸지 않고 PointHistoryBufferFullException(503)으로 거절합니다.
+ * - CAS만으로 순서가 정해지므로 회원별 직렬 실행기를 거치지 않고 호출한 스레드에서 바로 반영합니다.
+ * - lockfree 프로필이 아니면 비활성화됩니다.
+ */
+@Slf4j
+@Component
+public class LockFreePointUpdater {
+
+	private final AtomicUserPointRepository atomicUserPointRepository;
+	private final PointHistoryRing pointHistoryRing;
+
+	private final PointMetrics pointMetrics;
+
+	public LockFreePointUpdater(AtomicUserPointRepository atomicUserPointRepository, PointHistoryRing pointHistoryRing, PointMetrics pointMetrics) {
+		this.atomicUserPointRepository = atomicUserPointRepository;
+		this.pointHistoryRing = pointHistoryRing;
+		this.pointMetrics = pointMetrics;
+	}
+
+	@Autowired
+	public LockFreePointUpdater(
+		ObjectProvider<AtomicUserPointRepository> atomicUserPointRepository,
+		ObjectProvider<PointHistoryRing> pointHistoryRing,
+		PointMetrics pointMetrics
+	) {
+		this(atomicUserPointRepository.getIfAvailable(), pointHistoryRing.getIfAvailable(), pointMetrics);
+	}
+
+	public boolean isEnabled() {
+		return atomicUserPointRepository != null && pointHistoryRing != null;
+	}
+
+	public UserPoint charge(long userId, long amount) {
+		return apply(userId, CHARGE, amount);
+	}
+
+	public UserPoint use(long userId, long amount) {
+		return apply(userId, USE, amount);
+	}
+
+	/**
+	 * 같은 회원의 요청 묶음을 순서대로 반영합니다. 반환될 때 묶음의 모든 요청은 결과 또는 예외로 완료되어 있습니다.
+	 */
+	void applyAll(long userId, List<PointCommand> batch) {
+		for (PointCommand command : batch) {
+			try {
+				command.complete(apply(userId, command.type(), command.amount()));
+			} catch (RuntimeException e) {
+				command.fail(e);
+			}
+		}
+	}
+
+	private UserPoint apply(long userId, TransactionType type, long amount) {
+		long sequence = pointHistoryRing.claim();
+		if (sequence < 0) {
+			log.warn("포인트 내역 링 버퍼가 가득 찼습니다. (회원: {})", userId);
+			throw new PointHistoryBufferFullException("요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요. (회원: " + userId + ')');
+		}
+
+		UserPoint saved;
+		try {
+			saved = atomicUserPointRepository.update(userId, current -> PointPolicy.apply(current, type, amount));
+		} catch (AmountExceedBalanceException e) {
+			pointHistoryRing.skip(sequence);
+			pointMetrics.countAmountExceeded(type == CHARGE ? "charge" : "use");
+			throw e;
+		} catch (RuntimeException e) {
+			pointHistoryRing.skip(sequence);
+			throw e;
+		}
+
+		long tempId = 0L; // id는 auto-increment
+		pointHistoryRing.publish(sequence, new PointHistory(tempId, userId, amount, type, saved.updateMillis()));
+
+		return saved;
+	}
+}
@@ -0,0 +1,215 @@
+package io.hhplus.tdd.point.application;
+
+import static io.hhplus.tdd.point.domain.TransactionType.*;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 회원 락 없이 충전/사용을 반영하는 낙관적 갱신 처리기입니다.
+ * - 잔액과 저장 버전을 락 없이 읽고 새 잔액을 계산한 뒤, 저장소의 compareAndSave로 버전이 그대로일 때만 저장합니다.
+ *   회원 락(LockManager)은 잡지 않으며, 락 경로(PointServiceImpl, 그룹 커밋)는 저장소의 writeLocked 구간 안에서 저장하므로 갱신이 유실되지 않습니다.
+ * - 충돌하면 관측한 저장 소요 시간을 기준으로 흔든(jitter) 만큼 기다린 뒤 다시 시도합니다.
+ *   충돌은 대개 다른 요청의 저장이 끝나지 않아 생기므로, 저장 한 번이 걸리는 시간보다 짧게 기다리면 재시도가 같은 저장에 모두 부딪힙니다.
+ * - maxAttempts번 모두 충돌한 회원은 hotCooldownMillis 동안 락 경로로 보냅니다.
+ * - 내역 기록에 실패하면 그때만 회원 락을 잡고 반영한 금액만큼 되돌립니다.
+ */
+@Slf4j
+@Component
+public class OptimisticPointUpdater {
+
+	private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	/** 관측한 저장 소요 시간의 이 배수까지만 기다린다. */
+	private static final int MAX_BACKOFF_SHIFT = 2;
+
+	private final LockManager lockManager;
+
+	private final UserPointRepository userPointRepository;
+	private final PointHistoryRepository pointHistoryRepository;
+
+	private final PointMetrics pointMetrics;
+
+	private final boolean enabled;
+	private final int maxAttempts;
+	private final long hotCooldownMillis;
+
+	/** 성공한 저장의 소요 시간 이동 평균(1/8 가중). 스레드 간 경합으로 표본 하나쯤 유실돼도 상관없다. */
+	private volatile long saveNanos;
+
+	/** 충돌이 잦아 락 경로로 보낼 회원과 그 만료 시각 */
+	private final ConcurrentHashMap<Long, Long> hotUntil = new ConcurrentHashMap<>();
+
+	public OptimisticPointUpdater(
+		LockManager lockManager,
+		UserPointRepository userPointRepository,
+		PointHistoryRepository pointHistoryRepository,
+		PointMetrics pointMetrics,
+		@Value("${point.optimistic.enabled:false}") boolean enabled,
+		@Value("${point.optimistic.max-attempts:3}") int maxAttempts,
+		@Value("${point.optimistic.hot-cooldown-millis:5000}") long hotCooldownMillis,
+		@Value("${point.optimistic.expected-save-millis:300}") long expectedSaveMillis
+	) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("maxAttempts 값은 1 이상이어야 합니다.");
+		}
+		if (expectedSaveMillis < 0) {
+			throw new IllegalArgumentException("expectedSaveMillis 값은 0 이상이어야 합니다.");
+		}
+
+		this.lockManager = lockManager;
+		this.userPointRepository = userPointRepository;
+		this.pointHistoryRepository = pointHistoryRepository;
+		this.pointMetrics = pointMetrics;
+		this.enabled = enabled;
+		this.maxAttempts = maxAttempts;
+		this.hotCooldownMillis = hotCooldownMillis;
+		this.saveNanos = TimeUnit.MILLISECONDS.toNanos(expectedSaveMillis);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 요청을 반영하고 반영된 잔액을 반환합니다.
+	 * 충돌이 잦은 회원이거나 재시도를 모두 소진하면 반영하지 않고 null을 반환하므로, 호출자는 락 경로로 처리해야 합니다.
+	 */
+	public UserPoint tryApply(long userId, TransactionType type, long amount) {
+		if (isHot(userId)) {
+			pointMetrics.countOptimistic("fallback");
+			return null;
+		}
+
+		for (int attempt = 0; attempt < maxAttempts; attempt++) {
+			VersionedUserPoint current = userPointRepository.findVersionedById(userId);
+
+			long newPoint;
+			try {
+				newPoint = PointPolicy.apply(current.userPoint().point(), type, amount);
+			} catch (AmountExceedBalanceException e) {
+				pointMetrics.countAmountExceeded(type == CHARGE ? "charge" : "use");
+				throw e;
+			}
+
+			UserPoint saved = commit(userId, type, current, newPoint);
+			if (saved != null) {
+				pointMetrics.countOptimistic("success");
+				savePointHistory(userId, type, amount);
+				return saved;
+			}
+
+			pointMetrics.countOptimistic("conflict");
+			if (attempt + 1 < maxAttempts) {
+				backoff(attempt);
+			}
+		}
+
+		hotUntil.put(userId, System.currentTimeMillis() + hotCooldownMillis);
+		log.info("충돌이 잦은 회원을 락 경로로 전환합니다. (회원: {}, 기간: {}ms)", userId, hotCooldownMillis);
+		pointMetrics.countOptimistic("fallback");
+		return null;
+	}
+
+	/**
+	 * 그 사이 다른 저장이 있었거나 진행 중이면 null을 반환합니다.
+	 */
+	private UserPoint commit(long userId, TransactionType type, VersionedUserPoint current, long newPoint) {
+		UserPoint newUserPoint = new UserPoint(userId, newPoint, System.currentTimeMillis());
+
+		long start = System.nanoTime();
+		Optional<UserPoint> saved;
+		try {
+			saved = userPointRepository.compareAndSave(newUserPoint, current.version());
+		} catch (Exception e) {
+			log.error("UserPoint 저장에 실패했습니다. ({})", newUserPoint);
+			throw PointPolicy.failure(type, e);
+		}
+
+		if (saved.isEmpty()) {
+			return null;
+		}
+
+		long elapsed = System.nanoTime() - start;
+		saveNanos += (elapsed - saveNanos) >> 3;
+		return saved.get();
+	}
+
+	private void savePointHistory(long userId, TransactionType type, long amount) {
+		long tempId = 0L; // id는 auto-increment
+		PointHistory pointHistory = new PointHistory(tempId, userId, amount, type, System.currentTimeMillis());
+
+		try {
+			pointHistoryRepository.save(pointHistory);
+		} catch (Exception e) {
+			log.error("PointHistory 저장에 실패했습니다. ({})", pointHistory);
+			rollbackUserPoint(userId, type, amount);
+			throw PointPolicy.failure(type, e);
+		}
+	}
+
+	/**
+	 * 저장한 뒤 다른 요청이 이미 반영됐을 수 있으므로 읽었던 잔액으로 덮어쓰지 않고, 회원 락 안에서 반영한 금액만큼만 되돌립니다.
+	 */
+	private void rollbackUserPoint(long userId, TransactionType type, long amount) {
+		log.info("UserPoint 롤백을 시작합니다. (회원: {}, {} {})", userId, type, amount);
+
+		UserPoint result;
+		ReentrantLock lock = lockManager.lock(userId);
+		try {
+			result = userPointRepository.writeLocked(userId, () -> {
+				UserPoint current = userPointRepository.findById(userId);
+				long point = type == CHARGE ? current.point() - amount : current.point() + amount;
+				return userPointRepository.save(new UserPoint(userId, point, System.currentTimeMillis()));
+			});
+		} catch (Exception e) {
+			pointMetrics.countRollback(false);
+			throw new RuntimeException("UserPoint 롤백에 실패했습니다.", e);
+		} finally {
+			lock.unlock();
+			lockManager.release(userId);
+		}
+
+		pointMetrics.countRollback(true);
+		log.info("UserPoint 롤백이 완료됐습니다. ({})", result);
+	}
+
+	private boolean isHot(long userId) {
+		Long until = hotUntil.get(userId);
+		if (until == null) {
+			return false;
+		}
+		if (until > System.currentTimeMillis()) {
+			return true;
+		}
+
+		hotUntil.remove(userId, until);
+		return false;
+	}
+
+	/**
+	 * attempt번째 충돌 뒤에는 [저장 소요 시간 x 2^attempt / 2, 저장 소요 시간 x 2^attempt] 사이에서 기다린다.
+	 */
+	private void backoff(int attempt) {
+		long window = Math.max(saveNanos, MIN_BACKOFF_NANOS) << Math.min(attempt, MAX_BACKOFF_SHIFT);
+		long half = window >> 1;
+		LockSupport.parkNanos(half + ThreadLocalRandom.current().nextLong(half + 1));
+	}
+}
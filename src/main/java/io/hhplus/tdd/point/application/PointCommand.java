@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.application;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+/**
+ * 그룹 커밋 대기열에 쌓이는 단일 충전/사용 요청입니다.
+ * 요청을 처리한 스레드가 결과(반영 직후 잔액 또는 예외)로 개별 완료시킵니다.
+ */
+final class PointCommand {
+
+	private final TransactionType type;
+	private final long amount;
+	private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+	PointCommand(TransactionType type, long amount) {
+		this.type = type;
+		this.amount = amount;
+	}
+
+	TransactionType type() {
+		return type;
+	}
+
+	long amount() {
+		return amount;
+	}
+
+	boolean isDone() {
+		return result.isDone();
+	}
+
+	void complete(UserPoint userPoint) {
+		result.complete(userPoint);
+	}
+
+	void fail(RuntimeException e) {
+		result.completeExceptionally(e);
+	}
+
+	/**
+	 * 처리 결과를 반환합니다. 실패한 요청이면 처리 중 발생한 예외를 그대로 던집니다.
+	 */
+	UserPoint await() {
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
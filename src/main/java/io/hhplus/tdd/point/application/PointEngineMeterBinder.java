@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.application;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 샤드 엔진과 잔액 변경 구독의 조회 시점 상태를 읽어 오는 게이지와 누적 카운터를 등록합니다.
+ * 샤드 엔진 지표는 샤드(shard)별로 등록하므로 처리량은 rate(point.engine.processed)로 봅니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointEngineMeterBinder implements MeterBinder {
+
+	private final ShardedPointEngine shardedPointEngine;
+	private final UserPointChangeHub userPointChangeHub;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("point.stream.subscribers", userPointChangeHub, UserPointChangeHub::subscriberCount)
+			.description("잔액 변경을 구독 중인 SSE 연결 수")
+			.register(registry);
+
+		// 샤드 엔진이 꺼져 있으면 샤드가 없으므로 등록되는 지표도 없다.
+		for (int shard = 0; shard < shardedPointEngine.shardCount(); shard++) {
+			int index = shard;
+			Gauge.builder("point.engine.queue", shardedPointEngine, e -> e.queueDepth(index))
+				.description("샤드 대기열에 남은 요청 묶음 수")
+				.tag("shard", String.valueOf(index))
+				.register(registry);
+			FunctionCounter.builder("point.engine.processed", shardedPointEngine, e -> e.processedCount(index))
+				.description("샤드 작성기가 처리한 충전/사용 요청 수")
+				.tag("shard", String.valueOf(index))
+				.register(registry);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point.application;
+
+import static io.hhplus.tdd.point.domain.TransactionType.*;
+
+import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
+import io.hhplus.tdd.common.exception.ChargePointFailureException;
+import io.hhplus.tdd.common.exception.UsePointFailureException;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+/**
+ * 충전/사용 요청의 잔액 검증 규칙과 실패 예외를 한 곳에서 관리합니다.
+ * 쓰기 경로(락, 그룹 커밋 등)가 달라도 같은 규칙을 적용하기 위해 분리했습니다.
+ */
+final class PointPolicy {
+
+	static final long MAX_AMOUNT = 100_000_000L; // 임의의 포인트 최대값 설정
+
+	static final String CHARGE_POINT_FAIL = "포인트 충전에 실패했습니다. 잠시 후 다시 시도해주세요.";
+	static final String USE_POINT_FAIL    = "포인트 사용에 실패했습니다. 잠시 후 다시 시도해주세요.";
+
+	private PointPolicy() {}
+
+	/**
+	 * 현재 잔액에 요청을 반영한 결과 잔액을 반환합니다.
+	 * 최대 한도를 초과하거나 잔액이 부족하면 AmountExceedBalanceException이 발생합니다.
+	 */
+	static long apply(long current, TransactionType type, long amount) {
+		if (type == CHARGE) {
+			if (current >= MAX_AMOUNT || amount > (MAX_AMOUNT - current)) {
+				throw new AmountExceedBalanceException("최대 포인트 한도를 초과했습니다. (현재: " + current + ", 한도: " + MAX_AMOUNT + ')');
+			}
+			return Math.addExact(current, amount);
+		}
+
+		if (current < amount) {
+			throw new AmountExceedBalanceException("포인트 잔액이 부족합니다. (현재 잔액: " + current + ')');
+		}
+		return Math.subtractExact(current, amount);
+	}
+
+	static RuntimeException failure(TransactionType type, Exception cause) {
+		if (type == CHARGE) {
+			return new ChargePointFailureException(CHARGE_POINT_FAIL, cause);
+		}
+		return new UsePointFailureException(USE_POINT_FAIL, cause);
+	}
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.application;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
+import io.hhplus.tdd.common.pagination.PageRequest;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+
+/**
+ * 같은 조회가 동시에 들어오면 저장소 호출을 한 번만 하고 결과를 나눠 갖습니다. (single-flight)
+ * - 먼저 온 요청이 저장소를 호출하고, 그 사이 들어온 같은 조회는 그 호출이 끝나기를 기다려 같은 결과(또는 예외)를 받습니다.
+ * - 호출이 끝나면 바로 잊으므로 결과를 캐시하지 않습니다. 다음 조회는 다시 저장소를 호출합니다.
+ * - 진행 중인 조회에 합류한 요청은 합류 직전에 끝난 저장을 보지 못할 수 있습니다. 조회가 시작된 시점의 값을 받습니다.
+ */
+@Component
+public class PointReadCoalescer {
+
+	private final UserPointRepository userPointRepository;
+	private final PointHistoryRepository pointHistoryRepository;
+
+	private final PointMetrics pointMetrics;
+
+	private final boolean enabled;
+
+	private final ConcurrentHashMap<Object, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+	public PointReadCoalescer(
+		UserPointRepository userPointRepository,
+		PointHistoryRepository pointHistoryRepository,
+		PointMetrics pointMetrics,
+		@Value("${point.read.coalescing.enabled:true}") boolean enabled
+	) {
+		this.userPointRepository = userPointRepository;
+		this.pointHistoryRepository = pointHistoryRepository;
+		this.pointMetrics = pointMetrics;
+		this.enabled = enabled;
+	}
+
+	public UserPoint findUserPoint(long id) {
+		return coalesce(new UserPointKey(id), "user_point", () -> userPointRepository.findById(id));
+	}
+
+	public List<PointHistory> findPointHistories(long userId, PageRequest pageRequest) {
+		return coalesce(new HistoryPageKey(userId, pageRequest), "point_history",
+			() -> pointHistoryRepository.findAllByUserId(userId, pageRequest));
+	}
+
+	public CursorPage<PointHistory> findPointHistories(long userId, CursorRequest cursorRequest) {
+		return coalesce(new HistoryCursorKey(userId, cursorRequest), "point_history",
+			() -> pointHistoryRepository.findAllByUserId(userId, cursorRequest));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T coalesce(Object key, String target, Supplier<T> read) {
+		if (!enabled) {
+			return read.get();
+		}
+
+		CompletableFuture<T> flight = new CompletableFuture<>();
+		CompletableFuture<T> leader = (CompletableFuture<T>) inFlight.putIfAbsent(key, flight);
+		if (leader != null) {
+			pointMetrics.countCoalescedRead(target);
+			return await(leader);
+		}
+
+		try {
+			T result = read.get();
+			flight.complete(result);
+			return result;
+		} catch (Throwable e) {
+			// 기다리는 요청이 멈추지 않도록 어떤 실패든 함께 전달한다.
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, flight);
+		}
+	}
+
+	private static <T> T await(CompletableFuture<T> flight) {
+		try {
+			return flight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	private record UserPointKey(long id) {}
+
+	private record HistoryPageKey(long userId, PageRequest pageRequest) {}
+
+	private record HistoryCursorKey(long userId, CursorRequest cursorRequest) {}
+}
@@ -1,9 +1,17 @@
 package io.hhplus.tdd.point.application;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
 import io.hhplus.tdd.common.pagination.PageRequest;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.PointTransferResult;
 import io.hhplus.tdd.point.domain.UserPoint;
 
 public interface PointService {
@@ -12,7 +20,42 @@ public interface PointService {
 
 	List<PointHistory> findPointHistoriesByUserId(long userId, PageRequest pageRequest);
 
+	CursorPage<PointHistory> findPointHistoriesByUserId(long userId, CursorRequest cursorRequest);
+
+    /**
+     * 회원의 포인트 내역 중 fromMillis 이상 toMillis 미만에 기록된 내역을 id 순으로 하나씩 action에 넘깁니다.
+     * 커서 페이지 단위로 읽으므로 내역이 많아도 한 번에 한 페이지만 메모리에 올립니다.
+     */
+    void forEachPointHistory(long userId, long fromMillis, long toMillis, Consumer<PointHistory> action);
+
+    /**
+     * 회원의 fromMillis 이상 toMillis 미만 기간의 충전/사용 금액 합계를 내역을 훑지 않고 집계에서 구합니다.
+     */
+    PointSummary summarizePointHistories(long userId, long fromMillis, long toMillis);
+
     UserPoint chargeUserPoint(long userId, long amount);
 
     UserPoint useUserPoint(long userId, long amount);
+
+    /**
+     * 회원별 직렬 실행기에서 충전을 처리하고, 호출 스레드는 결과를 기다리지 않고 바로 반환합니다.
+     */
+    CompletableFuture<UserPoint> chargeUserPointAsync(long userId, long amount);
+
+    /**
+     * 회원별 직렬 실행기에서 사용을 처리하고, 호출 스레드는 결과를 기다리지 않고 바로 반환합니다.
+     */
+    CompletableFuture<UserPoint> useUserPointAsync(long userId, long amount);
+
+    /**
+     * fromUserId의 포인트를 toUserId에게 옮깁니다. 두 회원의 잔액 변경과 내역 기록은 함께 반영되거나 함께 되돌려집니다.
+     * 샤드 엔진이나 원자적 셀 저장소를 쓰는 중에는 함께 되돌릴 수 없으므로 TransferNotSupportedException을 던집니다.
+     */
+    PointTransferResult transferPoint(long fromUserId, long toUserId, long amount);
+
+    /**
+     * 여러 회원의 충전/사용 요청을 한 번에 처리합니다. 요청은 회원별로 묶여 회원마다 잔액 조회와 저장을 한 번씩만 하고,
+     * 서로 다른 회원은 병렬로 처리됩니다. 결과는 요청과 같은 순서로 항목마다 성공/실패가 담깁니다.
+     */
+    CompletableFuture<List<PointOperationResult>> applyBatch(List<PointOperation> operations);
 }
@@ -2,18 +2,30 @@ package io.hhplus.tdd.point.application;
 
 import static io.hhplus.tdd.point.domain.TransactionType.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
 import io.hhplus.tdd.common.pagination.PageRequest;
 import org.springframework.stereotype.Service;
 
+import io.hhplus.tdd.common.KeyedSerialExecutor;
 import io.hhplus.tdd.common.LockManager;
 import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
-import io.hhplus.tdd.common.exception.ChargePointFailureException;
 import io.hhplus.tdd.common.exception.InvariantViolationException;
-import io.hhplus.tdd.common.exception.UsePointFailureException;
+import io.hhplus.tdd.common.exception.TransferNotSupportedException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.PointTransferResult;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
 import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
@@ -26,71 +38,391 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PointServiceImpl implements PointService {
 
+	private static final int EXPORT_PAGE_SIZE = 100; // 커서 페이지 최대 크기
+
 	private final LockManager lockManager;
 
 	private final UserPointRepository userPointRepository;
 	private final PointHistoryRepository pointHistoryRepository;
+	private final PointReadCoalescer pointReadCoalescer;
 
-	private static final long MAX_AMOUNT = 100_000_000L; // 임의의 포인트 최대값 설정
+	private final PointWriteCombiner pointWriteCombiner;
+	private final OptimisticPointUpdater optimisticPointUpdater;
+	private final ShardedPointEngine shardedPointEngine;
+	private final LockFreePointUpdater lockFreePointUpdater;
+	private final KeyedSerialExecutor keyedSerialExecutor;
+	private final UserPointChangeHub userPointChangeHub;
 
-	private static final String CHARGE_POINT_FAIL = "포인트 충전에 실패했습니다. 잠시 후 다시 시도해주세요.";
-	private static final String USE_POINT_FAIL    = "포인트 사용에 실패했습니다. 잠시 후 다시 시도해주세요.";
+	private final PointMetrics pointMetrics;
 
 	@Override
 	public UserPoint findUserPointById(long id) {
-		return userPointRepository.findById(id);
+		return pointReadCoalescer.findUserPoint(id);
 	}
 
 	@Override
 	public List<PointHistory> findPointHistoriesByUserId(long userId, PageRequest pageRequest) {
-		return pointHistoryRepository.findAllByUserId(userId, pageRequest);
+		return pointReadCoalescer.findPointHistories(userId, pageRequest);
 	}
 
+	@Override
+	public CursorPage<PointHistory> findPointHistoriesByUserId(long userId, CursorRequest cursorRequest) {
+		return pointReadCoalescer.findPointHistories(userId, cursorRequest);
+	}
+
+	/**
+	 * 같은 페이지를 다시 읽을 일이 없으므로 조회 합치기를 거치지 않고 저장소에서 바로 읽습니다.
+	 */
+	@Override
+	public void forEachPointHistory(long userId, long fromMillis, long toMillis, Consumer<PointHistory> action) {
+		if (fromMillis > toMillis) {
+			throw new IllegalArgumentException("from 값은 to 값보다 클 수 없습니다.");
+		}
+
+		long after = 0L;
+		while (true) {
+			CursorPage<PointHistory> page = pointHistoryRepository.findAllByUserId(userId, new CursorRequest(after, EXPORT_PAGE_SIZE));
+			for (PointHistory pointHistory : page.items()) {
+				if (pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() < toMillis) {
+					action.accept(pointHistory);
+				}
+			}
+
+			if (page.nextCursor() == null) {
+				return;
+			}
+			after = page.nextCursor();
+		}
+	}
+
+	@Override
+	public PointSummary summarizePointHistories(long userId, long fromMillis, long toMillis) {
+		if (fromMillis > toMillis) {
+			throw new IllegalArgumentException("from 값은 to 값보다 클 수 없습니다.");
+		}
+
+		return pointHistoryRepository.summarize(userId, fromMillis, toMillis);
+	}
+
+	/**
+	 * 어느 쓰기 경로로 처리했든 반영이 끝난 뒤 구독자에게 알립니다.
+	 * 보낼 잔액은 UserPointChangeHub가 저장소에서 다시 읽으므로, 게시 순서가 반영 순서와 달라도 최신 잔액이 전달됩니다.
+	 */
 	@Override
 	public UserPoint chargeUserPoint(long userId, long amount) {
+		UserPoint savedUserPoint = charge(userId, amount);
+		userPointChangeHub.publish(userId);
+		return savedUserPoint;
+	}
+
+	@Override
+	public UserPoint useUserPoint(long userId, long amount) {
+		UserPoint savedUserPoint = use(userId, amount);
+		userPointChangeHub.publish(userId);
+		return savedUserPoint;
+	}
+
+	private UserPoint charge(long userId, long amount) {
 		validAmount(amount);
 
-		ReentrantLock lock = lockManager.acquire(userId);
-		lock.lock();
+		if (lockFreePointUpdater.isEnabled()) {
+			return lockFreePointUpdater.charge(userId, amount);
+		}
+
+		if (shardedPointEngine.isEnabled()) {
+			return shardedPointEngine.charge(userId, amount);
+		}
+
+		if (pointWriteCombiner.isEnabled()) {
+			return pointWriteCombiner.charge(userId, amount);
+		}
+
+		if (optimisticPointUpdater.isEnabled()) {
+			UserPoint savedUserPoint = optimisticPointUpdater.tryApply(userId, CHARGE, amount);
+			if (savedUserPoint != null) {
+				return savedUserPoint;
+			}
+		}
+
+		long waitStart = System.nanoTime();
+		ReentrantLock lock = lockManager.lock(userId);
+		long acquiredAt = System.nanoTime();
+		pointMetrics.recordLockWait("charge", userId, acquiredAt - waitStart);
 
 		try {
-			UserPoint userPoint = userPointRepository.findById(userId);
+			return userPointRepository.writeLocked(userId, () -> applyLocked(userId, CHARGE, amount));
+		} finally {
+			lock.unlock();
+			pointMetrics.recordLockHold("charge", System.nanoTime() - acquiredAt);
+            lockManager.release(userId);
+		}
+	}
+
+	private UserPoint use(long userId, long amount) {
+		validAmount(amount);
+
+		if (lockFreePointUpdater.isEnabled()) {
+			return lockFreePointUpdater.use(userId, amount);
+		}
+
+		if (shardedPointEngine.isEnabled()) {
+			return shardedPointEngine.use(userId, amount);
+		}
+
+		if (pointWriteCombiner.isEnabled()) {
+			return pointWriteCombiner.use(userId, amount);
+		}
 
-			final long current = userPoint.point();
-			if (current >= MAX_AMOUNT || amount > (MAX_AMOUNT - current)) {
-				throw new AmountExceedBalanceException("최대 포인트 한도를 초과했습니다. (현재: " + current + ", 한도: " + MAX_AMOUNT + ')');
+		if (optimisticPointUpdater.isEnabled()) {
+			UserPoint savedUserPoint = optimisticPointUpdater.tryApply(userId, USE, amount);
+			if (savedUserPoint != null) {
+				return savedUserPoint;
 			}
+		}
 
-			UserPoint savedUserPoint = saveUserPoint(userPoint, userId, amount, CHARGE);
-			savePointHistory(amount, savedUserPoint, userPoint, CHARGE);
+		long waitStart = System.nanoTime();
+		ReentrantLock lock = lockManager.lock(userId);
+		long acquiredAt = System.nanoTime();
+		pointMetrics.recordLockWait("use", userId, acquiredAt - waitStart);
 
-			return savedUserPoint;
+		try {
+			return userPointRepository.writeLocked(userId, () -> applyLocked(userId, USE, amount));
 		} finally {
 			lock.unlock();
+			pointMetrics.recordLockHold("use", System.nanoTime() - acquiredAt);
             lockManager.release(userId);
 		}
 	}
 
+	/**
+	 * 회원 락을 보유했거나 회원별 직렬 실행기 안에서 호출되며, 락 없이 저장하는 낙관적 갱신이나 다른 경로의 저장이
+	 * 끼어들지 않도록 저장소의 writeLocked 구간 안에서 실행됩니다.
+	 */
+	private UserPoint applyLocked(long userId, TransactionType type, long amount) {
+		UserPoint userPoint = userPointRepository.findById(userId);
+		long newPoint = applyPolicy(userPoint.point(), type, amount);
+
+		UserPoint savedUserPoint = saveUserPoint(userId, newPoint, type);
+		savePointHistory(amount, savedUserPoint, userPoint, type);
+
+		return savedUserPoint;
+	}
+
 	@Override
-	public UserPoint useUserPoint(long userId, long amount) {
+	public CompletableFuture<UserPoint> chargeUserPointAsync(long userId, long amount) {
+		validAmount(amount);
+
+		return applyAsync(userId, CHARGE, amount);
+	}
+
+	@Override
+	public CompletableFuture<UserPoint> useUserPointAsync(long userId, long amount) {
+		validAmount(amount);
+
+		return applyAsync(userId, USE, amount);
+	}
+
+	/**
+	 * 원자적 셀, 샤드 엔진, 그룹 커밋은 회원별 순서를 스스로 지키므로 직렬 실행기를 거치지 않습니다.
+	 * 샤드 엔진은 샤드 대기열에 넣고 바로 반환하고, 원자적 셀과 그룹 커밋은 요청 스레드에서 처리합니다.
+	 * (그룹 커밋은 같은 회원의 요청이 동시에 들어와야 모이므로, 직렬 실행기에서 하나씩 실행하면 모을 것이 없다.)
+	 * 그 밖에는 같은 회원의 작업이 직렬 실행기에서 차례로 실행되므로 회원 락을 잡지 않고,
+	 * 저장소의 writeLocked 구간만으로 동기 요청이나 낙관적 갱신과 겹치지 않게 반영합니다.
+	 */
+	private CompletableFuture<UserPoint> applyAsync(long userId, TransactionType type, long amount) {
+		if (!lockFreePointUpdater.isEnabled() && shardedPointEngine.isEnabled()) {
+			PointCommand command = new PointCommand(type, amount);
+			return shardedPointEngine.enqueue(userId, List.of(command))
+				.thenApply(ignored -> {
+					UserPoint savedUserPoint = command.await();
+					userPointChangeHub.publish(userId);
+					return savedUserPoint;
+				});
+		}
+
+		if (lockFreePointUpdater.isEnabled() || pointWriteCombiner.isEnabled()) {
+			try {
+				return CompletableFuture.completedFuture(type == CHARGE ? chargeUserPoint(userId, amount) : useUserPoint(userId, amount));
+			} catch (RuntimeException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		return keyedSerialExecutor.submit(userId, () -> {
+			UserPoint savedUserPoint = userPointRepository.writeLocked(userId, () -> applyLocked(userId, type, amount));
+			userPointChangeHub.publish(userId);
+			return savedUserPoint;
+		});
+	}
+
+	@Override
+	public PointTransferResult transferPoint(long fromUserId, long toUserId, long amount) {
 		validAmount(amount);
+		if (fromUserId == toUserId) {
+			log.warn("같은 회원에게 이체할 수 없습니다. (회원: {})", fromUserId);
+			throw new IllegalArgumentException("같은 회원에게 이체할 수 없습니다.");
+		}
+
+		// 샤드 엔진과 원자적 셀 저장소는 회원 락 없이 회원마다 따로 반영하므로 두 회원의 변경을 함께 반영하거나 되돌릴 수 없다.
+		// 사용 후 충전으로 나누면 충전과 되돌리기가 모두 실패할 때 포인트가 사라지므로 이체를 받지 않는다.
+		if (lockFreePointUpdater.isEnabled() || shardedPointEngine.isEnabled()) {
+			log.warn("현재 쓰기 방식에서는 이체를 지원하지 않습니다. (보낸 회원: {}, 받는 회원: {})", fromUserId, toUserId);
+			throw new TransferNotSupportedException("현재 쓰기 방식에서는 이체를 지원하지 않습니다.");
+		}
 
-		ReentrantLock lock = lockManager.acquire(userId);
-		lock.lock();
+		// 두 회원을 함께 잠그는 다른 이체와 교착되지 않도록 LockManager가 정한 순서로 잠근다.
+		long firstUserId = lockManager.firstToLock(fromUserId, toUserId);
+		long secondUserId = firstUserId == fromUserId ? toUserId : fromUserId;
 
+		long waitStart = System.nanoTime();
+		ReentrantLock firstLock = lockManager.lock(firstUserId);
+		ReentrantLock secondLock;
 		try {
-			UserPoint userPoint = userPointRepository.findById(userId);
-			if (userPoint.point() < amount) {
-				throw new AmountExceedBalanceException("포인트 잔액이 부족합니다. (현재 잔액: " + userPoint.point() + ')');
+			secondLock = lockManager.lock(secondUserId);
+		} catch (RuntimeException e) {
+			firstLock.unlock();
+			lockManager.release(firstUserId);
+			throw e;
+		}
+		long acquiredAt = System.nanoTime();
+		pointMetrics.recordLockWait("transfer", fromUserId, acquiredAt - waitStart);
+
+		PointTransferResult result;
+		try {
+			result = userPointRepository.writeLocked(firstUserId, () ->
+				userPointRepository.writeLocked(secondUserId, () -> transferLocked(fromUserId, toUserId, amount)));
+		} finally {
+			secondLock.unlock();
+			firstLock.unlock();
+			pointMetrics.recordLockHold("transfer", System.nanoTime() - acquiredAt);
+			lockManager.release(secondUserId);
+			lockManager.release(firstUserId);
+		}
+
+		userPointChangeHub.publish(fromUserId);
+		userPointChangeHub.publish(toUserId);
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<List<PointOperationResult>> applyBatch(List<PointOperation> operations) {
+		PointCommand[] commands = new PointCommand[operations.size()];
+		Map<Long, List<PointCommand>> commandsByUser = new LinkedHashMap<>();
+
+		for (int i = 0; i < operations.size(); i++) {
+			PointOperation operation = operations.get(i);
+			PointCommand command = new PointCommand(operation.type(), operation.amount());
+			commands[i] = command;
+
+			if (operation.userId() < 0 || operation.type() == null || operation.amount() <= 0) {
+				log.warn("잘못된 일괄 처리 항목입니다. ({})", operation);
+				command.fail(new InvariantViolationException("잘못된 요청입니다. (" + operation + ')'));
+				continue;
+			}
+			commandsByUser.computeIfAbsent(operation.userId(), k -> new ArrayList<>()).add(command);
+		}
+
+		// 회원별 묶음은 직렬 실행기에서 처리되므로, 같은 회원의 비동기 요청과는 순서대로, 다른 회원과는 병렬로 실행된다.
+		// 샤드 엔진을 쓰면 회원 락 대신 그 회원의 샤드 작성기가 처리하고,
+		// 원자적 셀 저장소를 쓰면 CAS 갱신이 순서를 정하므로 직렬 실행기를 거치지 않고 요청 스레드에서 바로 처리한다.
+		List<CompletableFuture<Void>> userTasks = new ArrayList<>(commandsByUser.size());
+		commandsByUser.forEach((userId, batch) -> {
+			if (lockFreePointUpdater.isEnabled()) {
+				lockFreePointUpdater.applyAll(userId, batch);
+				userTasks.add(CompletableFuture.completedFuture(null));
+			} else if (shardedPointEngine.isEnabled()) {
+				userTasks.add(shardedPointEngine.enqueue(userId, batch));
+			} else {
+				// 직렬 실행기가 같은 회원의 작업을 차례로 실행하므로 회원 락 없이 writeLocked 구간만으로 반영한다.
+				userTasks.add(keyedSerialExecutor.submit(userId, () -> {
+					pointWriteCombiner.commit(userId, batch);
+					return null;
+				}));
 			}
+		});
+
+		return CompletableFuture.allOf(userTasks.toArray(CompletableFuture[]::new))
+			.handle((ignored, e) -> {
+				List<PointOperationResult> results = new ArrayList<>(commands.length);
+				for (int i = 0; i < commands.length; i++) {
+					results.add(toResult(operations.get(i), commands[i]));
+				}
+				return results;
+			});
+	}
 
-			UserPoint savedUserPoint = saveUserPoint(userPoint, userId, amount, USE);
-			savePointHistory(amount, savedUserPoint, userPoint, USE);
+	/**
+	 * 두 회원의 잔액을 모두 검증한 뒤에 저장하므로, 잔액 부족/한도 초과라면 아무것도 바뀌지 않습니다.
+	 * 저장이나 내역 기록에 실패하면 두 잔액을 되돌리고, 이미 기록된 보낸 회원의 사용 내역은 같은 금액의 충전 내역으로 상쇄합니다.
+	 */
+	private PointTransferResult transferLocked(long fromUserId, long toUserId, long amount) {
+		UserPoint from = userPointRepository.findById(fromUserId);
+		UserPoint to = userPointRepository.findById(toUserId);
+		long newFromPoint = applyPolicy(from.point(), USE, amount);
+		long newToPoint = applyPolicy(to.point(), CHARGE, amount);
+
+		UserPoint savedFrom = saveUserPoint(fromUserId, newFromPoint, USE);
+		UserPoint savedTo;
+		try {
+			savedTo = saveUserPoint(toUserId, newToPoint, CHARGE);
+		} catch (RuntimeException e) {
+			rollbackUserPoint(from, savedFrom);
+			throw e;
+		}
 
-			return savedUserPoint;
+		long tempId = 0L; // id는 auto-increment
+		PointHistory useHistory = new PointHistory(tempId, fromUserId, amount, USE, System.currentTimeMillis());
+		try {
+			pointHistoryRepository.save(useHistory);
+		} catch (Exception e) {
+			log.error("PointHistory 저장에 실패했습니다. ({})", useHistory);
+			rollbackTransfer(from, savedFrom, to, savedTo);
+			throw PointPolicy.failure(USE, e);
+		}
+
+		PointHistory chargeHistory = new PointHistory(tempId, toUserId, amount, CHARGE, System.currentTimeMillis());
+		try {
+			pointHistoryRepository.save(chargeHistory);
+		} catch (Exception e) {
+			log.error("PointHistory 저장에 실패했습니다. ({})", chargeHistory);
+			rollbackTransfer(from, savedFrom, to, savedTo);
+			offsetHistory(useHistory);
+			throw PointPolicy.failure(CHARGE, e);
+		}
+
+		return new PointTransferResult(savedFrom, savedTo);
+	}
+
+	private void rollbackTransfer(UserPoint from, UserPoint savedFrom, UserPoint to, UserPoint savedTo) {
+		try {
+			rollbackUserPoint(to, savedTo);
 		} finally {
-			lock.unlock();
-            lockManager.release(userId);
+			rollbackUserPoint(from, savedFrom);
+		}
+	}
+
+	private void offsetHistory(PointHistory pointHistory) {
+		PointHistory offset = new PointHistory(0L, pointHistory.userId(), pointHistory.amount(),
+			pointHistory.type() == USE ? CHARGE : USE, System.currentTimeMillis());
+		try {
+			pointHistoryRepository.save(offset);
+		} catch (Exception e) {
+			log.error("상쇄 PointHistory 저장에 실패했습니다. ({})", offset, e);
+		}
+	}
+
+	private PointOperationResult toResult(PointOperation operation, PointCommand command) {
+		if (!command.isDone()) {
+			// 회원 작업이 묶음을 처리하기 전에 중단된 경우
+			return PointOperationResult.failure(operation, operation.type() == CHARGE ? PointPolicy.CHARGE_POINT_FAIL : PointPolicy.USE_POINT_FAIL);
+		}
+
+		try {
+			UserPoint userPoint = command.await();
+			userPointChangeHub.publish(operation.userId());
+			return PointOperationResult.success(operation, userPoint);
+		} catch (RuntimeException e) {
+			return PointOperationResult.failure(operation, e.getMessage());
 		}
 	}
 
@@ -101,9 +433,16 @@ public class PointServiceImpl implements PointService {
 		}
 	}
 
-	private UserPoint saveUserPoint(UserPoint userPoint, long userId, long amount, TransactionType type) {
-		long prevPoint = userPoint.point();
-		long newPoint = type == CHARGE ? Math.addExact(prevPoint, amount) : Math.subtractExact(prevPoint, amount);
+	private long applyPolicy(long current, TransactionType type, long amount) {
+		try {
+			return PointPolicy.apply(current, type, amount);
+		} catch (AmountExceedBalanceException e) {
+			pointMetrics.countAmountExceeded(type == CHARGE ? "charge" : "use");
+			throw e;
+		}
+	}
+
+	private UserPoint saveUserPoint(long userId, long newPoint, TransactionType type) {
 		UserPoint newUserPoint = new UserPoint(userId, newPoint, System.currentTimeMillis());
 
 		UserPoint savedUserPoint;
@@ -111,12 +450,7 @@ public class PointServiceImpl implements PointService {
 			savedUserPoint = userPointRepository.save(newUserPoint);
 		} catch (Exception e) {
 			log.error("UserPoint 저장에 실패했습니다. ({})", newUserPoint);
-
-			if (type == CHARGE) {
-				throw new ChargePointFailureException(CHARGE_POINT_FAIL, e);
-			} else {
-				throw new UsePointFailureException(USE_POINT_FAIL, e);
-			}
+			throw PointPolicy.failure(type, e);
 		}
 
 		return savedUserPoint;
@@ -132,12 +466,7 @@ public class PointServiceImpl implements PointService {
 		} catch (Exception e) {
 			log.error("PointHistory 저장에 실패했습니다. ({})", pointHistory);
 			rollbackUserPoint(oldUserPoint, newUserPoint);
-
-			if (type == CHARGE) {
-				throw new ChargePointFailureException(CHARGE_POINT_FAIL, e);
-			} else {
-				throw new UsePointFailureException(USE_POINT_FAIL, e);
-			}
+			throw PointPolicy.failure(type, e);
 		}
 	}
 
@@ -148,9 +477,11 @@ public class PointServiceImpl implements PointService {
 		try {
 			result = userPointRepository.save(prev);
 		} catch (Exception e) {
+			pointMetrics.countRollback(false);
 			throw new RuntimeException("UserPoint 롤백에 실패했습니다.", e);
 		}
 
+		pointMetrics.countRollback(true);
 		log.info("UserPoint 롤백이 완료됐습니다. ({})", result);
 	}
 }
@@ -0,0 +1,206 @@
+package io.hhplus.tdd.point.application;
+
+import static io.hhplus.tdd.point.domain.TransactionType.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 같은 회원에 대한 충전/사용 요청을 모아 한 번에 반영하는 그룹 커밋 처리기입니다.
+ * - 요청은 회원별 대기열에 쌓이고, 회원 락을 먼저 획득한 스레드가 대기열에 모인 요청을 한 번에 처리합니다.
+ * - 모인 요청은 도착 순서대로 누적 잔액에 대해 검증하며, 통과한 요청만 UserPoint 저장 1회로 반영합니다.
+ * - 각 요청은 자신이 반영된 직후의 잔액 또는 실패 예외로 개별 완료됩니다.
+ */
+@Slf4j
+@Component
+public class PointWriteCombiner {
+
+	private final LockManager lockManager;
+
+	private final UserPointRepository userPointRepository;
+	private final PointHistoryRepository pointHistoryRepository;
+
+	private final PointMetrics pointMetrics;
+
+	private final boolean enabled;
+
+	private final ConcurrentHashMap<Long, Queue<PointCommand>> pendingCommands = new ConcurrentHashMap<>();
+
+	public PointWriteCombiner(
+		LockManager lockManager,
+		UserPointRepository userPointRepository,
+		PointHistoryRepository pointHistoryRepository,
+		PointMetrics pointMetrics,
+		@Value("${point.write.combining.enabled:false}") boolean enabled
+	) {
+		this.lockManager = lockManager;
+		this.userPointRepository = userPointRepository;
+		this.pointHistoryRepository = pointHistoryRepository;
+		this.pointMetrics = pointMetrics;
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public UserPoint charge(long userId, long amount) {
+		return submit(userId, new PointCommand(CHARGE, amount));
+	}
+
+	public UserPoint use(long userId, long amount) {
+		return submit(userId, new PointCommand(USE, amount));
+	}
+
+	private UserPoint submit(long userId, PointCommand command) {
+		Queue<PointCommand> queue = pendingCommands.computeIfAbsent(userId, k -> new ConcurrentLinkedQueue<>());
+		queue.add(command);
+
+		long waitStart = System.nanoTime();
+		ReentrantLock lock;
+		try {
+			lock = lockManager.lock(userId);
+		} catch (RuntimeException e) {
+			// 다른 스레드가 이미 꺼내 처리 중이면 거절하지 않고 그 결과를 따른다.
+			if (queue.remove(command)) {
+				throw e;
+			}
+			return command.await();
+		}
+		long acquiredAt = System.nanoTime();
+		pointMetrics.recordLockWait("combine", userId, acquiredAt - waitStart);
+
+		try {
+			// 앞서 락을 잡은 스레드가 이미 처리했다면 결과만 가져간다.
+			if (!command.isDone()) {
+				List<PointCommand> batch = drain(queue);
+				pendingCommands.remove(userId, queue);
+
+				commit(userId, batch);
+			}
+		} finally {
+			lock.unlock();
+			pointMetrics.recordLockHold("combine", System.nanoTime() - acquiredAt);
+			lockManager.release(userId);
+		}
+
+		return command.await();
+	}
+
+	private List<PointCommand> drain(Queue<PointCommand> queue) {
+		List<PointCommand> batch = new ArrayList<>();
+
+		PointCommand command;
+		while ((command = queue.poll()) != null) {
+			batch.add(command);
+		}
+
+		return batch;
+	}
+
+	/**
+	 * 회원 락을 보유한 상태, 회원별 직렬 실행기(KeyedSerialExecutor) 안, 또는 그 회원을 맡은 샤드 작성기(ShardedPointEngine)에서 호출되어야 합니다.
+	 * 반환될 때 묶음의 모든 요청은 결과 또는 예외로 완료되어 있습니다.
+	 * 잔액 조회와 UserPoint 저장은 배치당 1회만 수행하고, 포인트 내역은 반영된 요청마다 기록합니다.
+	 * 낙관적 갱신이 끼어들지 않도록 저장소의 writeLocked 구간 안에서 반영합니다.
+	 */
+	void commit(long userId, List<PointCommand> batch) {
+		userPointRepository.writeLocked(userId, () -> {
+			commitLocked(userId, batch);
+			return null;
+		});
+	}
+
+	private void commitLocked(long userId, List<PointCommand> batch) {
+		try {
+			UserPoint userPoint = userPointRepository.findById(userId);
+
+			List<PointCommand> accepted = new ArrayList<>(batch.size());
+			List<Long> balances = new ArrayList<>(batch.size());
+
+			long balance = userPoint.point();
+			for (PointCommand command : batch) {
+				try {
+					balance = PointPolicy.apply(balance, command.type(), command.amount());
+				} catch (AmountExceedBalanceException e) {
+					pointMetrics.countAmountExceeded(command.type() == CHARGE ? "charge" : "use");
+					command.fail(e);
+					continue;
+				}
+
+				accepted.add(command);
+				balances.add(balance);
+			}
+
+			if (accepted.isEmpty()) {
+				return;
+			}
+
+			UserPoint newUserPoint = new UserPoint(userId, balance, System.currentTimeMillis());
+			UserPoint savedUserPoint;
+			try {
+				savedUserPoint = userPointRepository.save(newUserPoint);
+			} catch (Exception e) {
+				log.error("UserPoint 저장에 실패했습니다. ({}, 묶인 요청 수: {})", newUserPoint, accepted.size());
+				accepted.forEach(command -> command.fail(PointPolicy.failure(command.type(), e)));
+				return;
+			}
+
+			for (int i = 0; i < accepted.size(); i++) {
+				PointCommand command = accepted.get(i);
+
+				long tempId = 0L; // id는 auto-increment
+				PointHistory pointHistory = new PointHistory(tempId, userId, command.amount(), command.type(), System.currentTimeMillis());
+				try {
+					pointHistoryRepository.save(pointHistory);
+				} catch (Exception e) {
+					log.error("PointHistory 저장에 실패했습니다. ({})", pointHistory);
+
+					// 내역이 기록되지 않은 요청부터는 반영을 되돌린다.
+					long rollbackPoint = i == 0 ? userPoint.point() : balances.get(i - 1);
+					rollbackUserPoint(userId, rollbackPoint, accepted.subList(i, accepted.size()), e);
+					return;
+				}
+
+				command.complete(new UserPoint(userId, balances.get(i), savedUserPoint.updateMillis()));
+			}
+		} catch (RuntimeException e) {
+			batch.forEach(command -> command.fail(e));
+		}
+	}
+
+	private void rollbackUserPoint(long userId, long rollbackPoint, List<PointCommand> failed, Exception cause) {
+		UserPoint prev = new UserPoint(userId, rollbackPoint, System.currentTimeMillis());
+		log.info("UserPoint 롤백을 시작합니다. ({})", prev);
+
+		UserPoint result;
+		try {
+			result = userPointRepository.save(prev);
+		} catch (Exception e) {
+			pointMetrics.countRollback(false);
+			RuntimeException rollbackFailure = new RuntimeException("UserPoint 롤백에 실패했습니다.", e);
+			failed.forEach(command -> command.fail(rollbackFailure));
+			return;
+		}
+
+		pointMetrics.countRollback(true);
+		log.info("UserPoint 롤백이 완료됐습니다. ({})", result);
+		failed.forEach(command -> command.fail(PointPolicy.failure(command.type(), cause)));
+	}
+}
@@ -0,0 +1,245 @@
+package io.hhplus.tdd.point.application;
+
+import static io.hhplus.tdd.point.domain.TransactionType.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 회원 id로 샤드를 나누고, 샤드마다 전용 작성기 스레드 하나가 자신의 대기열(mailbox)을 처리하는 충전/사용 엔진입니다.
+ * - 한 회원의 요청은 항상 같은 샤드의 작성기 하나만 처리하므로, 회원 락(LockManager) 없이 잔액을 읽고 쓸 수 있습니다.
+ * - 작성기는 대기열에 쌓인 요청을 한 번에 꺼내 회원별로 묶은 뒤, 그룹 커밋과 같은 방식(PointWriteCombiner.commit)으로 반영합니다.
+ * - 샤드 수를 0으로 두면 사용 가능한 코어 수만큼 샤드를 만듭니다.
+ * - 대기열이 가득 차면 요청은 최대 offer-timeout 동안 기다리고, 그래도 자리가 없으면 실패합니다.
+ * - 한 회원의 반영 중 오류(Error 포함)가 나면 그 회원의 요청만 실패시키고, 작성기는 다음 요청을 계속 처리합니다.
+ */
+@Slf4j
+@Component
+public class ShardedPointEngine {
+
+	private static final int MAX_DRAIN = 256;
+
+	private final PointWriteCombiner pointWriteCombiner;
+
+	private final boolean enabled;
+	private final long offerTimeoutMillis;
+
+	private final Shard[] shards;
+
+	private volatile boolean running = true;
+
+	public ShardedPointEngine(
+		PointWriteCombiner pointWriteCombiner,
+		@Value("${point.engine.sharded.enabled:false}") boolean enabled,
+		@Value("${point.engine.sharded.shards:0}") int shardCount,
+		@Value("${point.engine.sharded.mailbox-capacity:4096}") int mailboxCapacity,
+		@Value("${point.engine.sharded.offer-timeout-millis:1000}") long offerTimeoutMillis
+	) {
+		if (shardCount < 0) {
+			throw new IllegalArgumentException("shardCount 값은 0 이상이어야 합니다.");
+		}
+		if (mailboxCapacity < 1) {
+			throw new IllegalArgumentException("mailboxCapacity 값은 1 이상이어야 합니다.");
+		}
+
+		this.pointWriteCombiner = pointWriteCombiner;
+		this.enabled = enabled;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+
+		// 꺼져 있으면 작성기 스레드를 만들지 않는다.
+		int count = !enabled ? 0 : shardCount == 0 ? Runtime.getRuntime().availableProcessors() : shardCount;
+		this.shards = new Shard[count];
+		for (int i = 0; i < count; i++) {
+			shards[i] = new Shard(i, mailboxCapacity);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public UserPoint charge(long userId, long amount) {
+		return submit(userId, new PointCommand(CHARGE, amount));
+	}
+
+	public UserPoint use(long userId, long amount) {
+		return submit(userId, new PointCommand(USE, amount));
+	}
+
+	private UserPoint submit(long userId, PointCommand command) {
+		enqueue(userId, List.of(command));
+		return command.await();
+	}
+
+	/**
+	 * 같은 회원의 요청 묶음을 샤드 대기열에 넣습니다. 반환된 작업이 끝나면 묶음의 모든 요청은 결과 또는 예외로 완료되어 있습니다.
+	 * 대기열에 넣지 못하면 묶음의 요청을 모두 실패시키고 완료된 작업을 반환합니다.
+	 */
+	CompletableFuture<Void> enqueue(long userId, List<PointCommand> batch) {
+		Envelope envelope = new Envelope(userId, batch);
+
+		if (!running) {
+			fail(envelope, new IllegalStateException("포인트 엔진이 종료되었습니다."));
+			return envelope.processed;
+		}
+
+		boolean offered;
+		try {
+			offered = shardOf(userId).mailbox.offer(envelope, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			offered = false;
+		}
+
+		if (!offered) {
+			log.warn("포인트 엔진 대기열이 가득 찼습니다. (회원: {}, 요청 수: {})", userId, batch.size());
+			fail(envelope, new IllegalStateException("포인트 엔진 대기열이 가득 찼습니다."));
+		}
+
+		return envelope.processed;
+	}
+
+	public int shardCount() {
+		return shards.length;
+	}
+
+	/**
+	 * 샤드 대기열에 남아 있는 요청 묶음 수입니다.
+	 */
+	public int queueDepth(int shard) {
+		return shards[shard].mailbox.size();
+	}
+
+	/**
+	 * 샤드 작성기가 지금까지 처리한 요청 수입니다.
+	 */
+	public long processedCount(int shard) {
+		return shards[shard].processed.sum();
+	}
+
+	private Shard shardOf(long userId) {
+		int h = Long.hashCode(userId);
+		h ^= (h >>> 16);
+		return shards[Math.floorMod(h, shards.length)];
+	}
+
+	private void run(Shard shard) {
+		List<Envelope> drained = new ArrayList<>(MAX_DRAIN);
+
+		while (running || !shard.mailbox.isEmpty()) {
+			Envelope first;
+			try {
+				first = shard.mailbox.poll(100L, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				// 종료 중에도 남은 요청은 마저 처리한다.
+				continue;
+			}
+			if (first == null) {
+				continue;
+			}
+
+			drained.add(first);
+			shard.mailbox.drainTo(drained, MAX_DRAIN - 1);
+
+			try {
+				process(shard, drained);
+			} catch (Throwable t) {
+				// 작성기가 죽으면 이 샤드의 요청은 영영 처리되지 않으므로, 꺼낸 요청만 실패시키고 계속 돈다.
+				log.error("포인트 엔진 작성기에서 오류가 발생했습니다. (샤드 요청 묶음 수: {})", drained.size(), t);
+				for (Envelope envelope : drained) {
+					failRemaining(envelope.batch, t);
+					envelope.processed.complete(null);
+				}
+			}
+			drained.clear();
+		}
+	}
+
+	/**
+	 * 꺼낸 요청을 회원별로 모아 도착 순서대로 반영합니다.
+	 */
+	private void process(Shard shard, List<Envelope> drained) {
+		Map<Long, List<PointCommand>> commandsByUser = new LinkedHashMap<>();
+		int commandCount = 0;
+		for (Envelope envelope : drained) {
+			commandsByUser.computeIfAbsent(envelope.userId, k -> new ArrayList<>()).addAll(envelope.batch);
+			commandCount += envelope.batch.size();
+		}
+
+		commandsByUser.forEach((userId, batch) -> {
+			try {
+				pointWriteCombiner.commit(userId, batch);
+			} catch (Throwable t) {
+				log.error("포인트 엔진 처리 중 오류가 발생했습니다. (회원: {})", userId, t);
+				failRemaining(batch, t);
+			}
+		});
+
+		shard.processed.add(commandCount);
+		drained.forEach(envelope -> envelope.processed.complete(null));
+	}
+
+	/**
+	 * 아직 완료되지 않은 요청을 실패시킵니다. Error처럼 RuntimeException이 아닌 오류는 충전/사용 실패 예외로 감쌉니다.
+	 */
+	private static void failRemaining(List<PointCommand> batch, Throwable t) {
+		for (PointCommand command : batch) {
+			if (command.isDone()) {
+				continue;
+			}
+			command.fail(t instanceof RuntimeException e
+				? e
+				: PointPolicy.failure(command.type(), new IllegalStateException("포인트 엔진 처리 중 오류가 발생했습니다.", t)));
+		}
+	}
+
+	private static void fail(Envelope envelope, IllegalStateException cause) {
+		envelope.batch.forEach(command -> command.fail(PointPolicy.failure(command.type(), cause)));
+		envelope.processed.complete(null);
+	}
+
+	/**
+	 * 새 요청을 막고, 대기열에 남은 요청을 모두 처리할 때까지 기다립니다.
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		for (Shard shard : shards) {
+			shard.writer.join(TimeUnit.SECONDS.toMillis(30));
+		}
+	}
+
+	private record Envelope(long userId, List<PointCommand> batch, CompletableFuture<Void> processed) {
+
+		private Envelope(long userId, List<PointCommand> batch) {
+			this(userId, batch, new CompletableFuture<>());
+		}
+	}
+
+	private final class Shard {
+		private final BlockingQueue<Envelope> mailbox;
+		private final LongAdder processed = new LongAdder();
+		private final Thread writer;
+
+		private Shard(int index, int mailboxCapacity) {
+			this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+			this.writer = new Thread(() -> run(this), "point-engine-shard-" + index);
+			this.writer.setDaemon(true);
+			this.writer.start();
+		}
+	}
+}
@@ -0,0 +1,307 @@
+package io.hhplus.tdd.point.application;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 충전/사용으로 바뀐 잔액을 그 회원을 구독 중인 리스너(SSE 연결 등)에게 전달합니다.
+ * - 구독자는 스레드를 점유하지 않고 등록만 되어 있으며, 전송은 소수의 전송 스레드가 맡습니다.
+ * - 잔액을 바꾼 스레드는 그 회원에 변경이 있다는 표시만 남기고 전송을 예약하므로, 느린 구독자 때문에 충전/사용이 늦어지지 않습니다.
+ * - 보낼 잔액은 게시한 값이 아니라 전송 작업이 저장소에서 다시 읽은 값입니다.
+ *   쓰기 경로마다 게시 시점이 반영 순서와 어긋날 수 있지만(락 해제 뒤 게시, CAS 갱신 등), 한 회원의 전송 작업은 하나뿐이고
+ *   반영이 끝난 뒤 게시하므로, 구독자는 반영된 순서대로 받고 마지막에는 반드시 최신 잔액을 받습니다.
+ * - 전송 전에 잔액이 여러 번 바뀌면 마지막 잔액만 전송하고, 직전에 보낸 잔액과 같으면 보내지 않습니다.
+ * - 구독자가 없는 회원의 변경은 맵 조회 한 번으로 끝납니다.
+ * - 구독자마다 보낼 잔액 한 칸을 두고 가상 스레드에서 씁니다. 느린 구독자에게는 쓰기가 끝날 때까지 최신 잔액만 쌓이고,
+ *   전송 스레드와 다른 구독자는 기다리지 않습니다. 한 번의 쓰기가 sendTimeoutMillis를 넘기면 그 구독자를 떼어 내고 연결을 닫게 합니다.
+ * - 연결이 끊긴 구독자를 찾아내도록 일정 간격으로 모든 구독자에게 빈 신호(heartbeat)를 보냅니다.
+ */
+@Slf4j
+@Component
+public class UserPointChangeHub {
+
+	/**
+	 * 구독자에게 전달할 동작. 예외를 던지면 구독이 해지됩니다.
+	 */
+	public interface Listener {
+
+		void onChange(UserPoint userPoint) throws IOException;
+
+		void onHeartbeat() throws IOException;
+
+		/**
+		 * 쓰기가 제한 시간을 넘겨 구독이 해지될 때 쓰기 스레드에서 한 번 호출됩니다. 연결을 닫는 데 씁니다.
+		 */
+		default void onDropped() {
+		}
+	}
+
+	/**
+	 * 구독자 한 명의 보낼 값과 쓰기 상태. 쓰기는 한 번에 하나만 돈다.
+	 */
+	private static final class Subscription {
+		private final Listener listener;
+		/** 아직 쓰지 않은 최신 잔액. 쓰는 동안 들어온 잔액은 덮어쓴다. */
+		private final AtomicReference<UserPoint> pending = new AtomicReference<>();
+		private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+		private final AtomicBoolean writing = new AtomicBoolean();
+		private final AtomicBoolean dropped = new AtomicBoolean();
+		/** 진행 중인 쓰기를 시작한 시각, 쓰고 있지 않으면 0. */
+		private volatile long writeStartedNanos;
+
+		private Subscription(Listener listener) {
+			this.listener = listener;
+		}
+	}
+
+	private static final class Subscribers {
+		private final CopyOnWriteArrayList<Subscription> listeners = new CopyOnWriteArrayList<>();
+		private final AtomicBoolean changed = new AtomicBoolean();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		/** 마지막으로 보낸 잔액. 전송 작업만 쓴다. */
+		private volatile UserPoint sent;
+	}
+
+	private final UserPointRepository userPointRepository;
+
+	private final ConcurrentHashMap<Long, Subscribers> subscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+
+	private final ExecutorService senders;
+	private final ExecutorService writers;
+	private final ScheduledExecutorService heartbeat;
+	private final long sendTimeoutNanos;
+
+	public UserPointChangeHub(UserPointRepository userPointRepository, int senderCount, long heartbeatSeconds) {
+		this(userPointRepository, senderCount, heartbeatSeconds, 5_000L);
+	}
+
+	@Autowired
+	public UserPointChangeHub(
+		UserPointRepository userPointRepository,
+		@Value("${point.stream.senders:2}") int senderCount,
+		@Value("${point.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+		@Value("${point.stream.send-timeout-millis:5000}") long sendTimeoutMillis
+	) {
+		if (senderCount < 1) {
+			throw new IllegalArgumentException("senderCount 값은 1 이상이어야 합니다.");
+		}
+		if (sendTimeoutMillis < 1) {
+			throw new IllegalArgumentException("sendTimeoutMillis 값은 1 이상이어야 합니다.");
+		}
+
+		this.userPointRepository = userPointRepository;
+		this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+		// 멈춘 쓰기는 스레드를 붙잡고 있으므로, 묶여도 부담이 적은 가상 스레드를 쓰기마다 띄운다.
+		this.writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-stream-writer-", 0).factory());
+
+		AtomicInteger sequence = new AtomicInteger();
+		this.senders = Executors.newFixedThreadPool(senderCount, runnable -> {
+			Thread thread = new Thread(runnable, "point-stream-sender-" + sequence.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		if (heartbeatSeconds > 0) {
+			this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "point-stream-heartbeat");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+		} else {
+			this.heartbeat = null;
+		}
+	}
+
+	public void subscribe(long userId, Listener listener) {
+		subscribers.compute(userId, (k, v) -> {
+			if (v == null) {
+				v = new Subscribers();
+			}
+			v.listeners.add(new Subscription(listener));
+			return v;
+		});
+		subscriberCount.incrementAndGet();
+	}
+
+	public void unsubscribe(long userId, Listener listener) {
+		subscribers.computeIfPresent(userId, (k, v) -> {
+			if (v.listeners.removeIf(subscription -> subscription.listener == listener)) {
+				subscriberCount.decrementAndGet();
+			}
+			return v.listeners.isEmpty() ? null : v;
+		});
+	}
+
+	/**
+	 * 회원의 잔액 변경이 반영된 뒤에 호출해야 합니다. 최신 잔액을 구독자에게 보내도록 예약하고 바로 반환합니다.
+	 * 종료된 뒤에 들어온 게시는 보내지 않고 무시합니다.
+	 */
+	public void publish(long userId) {
+		Subscribers target = subscribers.get(userId);
+		if (target == null) {
+			return;
+		}
+
+		target.changed.set(true);
+		if (target.scheduled.compareAndSet(false, true)) {
+			try {
+				senders.execute(() -> send(userId, target));
+			} catch (RejectedExecutionException e) {
+				target.scheduled.set(false);
+			}
+		}
+	}
+
+	public int subscriberCount() {
+		return subscriberCount.get();
+	}
+
+	/**
+	 * 한 회원에 대해서는 전송 작업이 하나만 돌도록, 남은 변경이 없을 때만 예약 표시를 지우고 끝냅니다.
+	 */
+	private void send(long userId, Subscribers target) {
+		while (true) {
+			if (target.changed.getAndSet(false)) {
+				// 표시를 지운 뒤에 읽으므로, 그 뒤의 변경은 다시 표시되어 다음 차례에 읽힌다.
+				UserPoint userPoint = read(userId);
+				if (userPoint != null && !userPoint.equals(target.sent)) {
+					target.sent = userPoint;
+					deliver(userId, target, userPoint);
+				}
+			}
+
+			target.scheduled.set(false);
+			// 예약 표시를 지우기 직전에 들어온 변경은 게시한 스레드가 예약하지 못했으므로 여기서 이어 보낸다.
+			if (!target.changed.get() || !target.scheduled.compareAndSet(false, true)) {
+				return;
+			}
+		}
+	}
+
+	private UserPoint read(long userId) {
+		try {
+			return userPointRepository.findById(userId);
+		} catch (Exception e) {
+			log.warn("전송할 잔액을 조회하지 못했습니다. 다음 변경 때 다시 보냅니다. (회원: {})", userId, e);
+			return null;
+		}
+	}
+
+	private void deliver(long userId, Subscribers target, UserPoint userPoint) {
+		for (Subscription subscription : target.listeners) {
+			subscription.pending.set(userPoint);
+			dispatch(userId, subscription);
+		}
+	}
+
+	private void sendHeartbeats() {
+		subscribers.forEach((userId, target) -> {
+			for (Subscription subscription : target.listeners) {
+				subscription.heartbeatDue.set(true);
+				dispatch(userId, subscription);
+			}
+		});
+	}
+
+	/**
+	 * 쓰는 중이 아니면 쓰기를 예약하고, 쓰는 중이면 제한 시간을 넘겼는지만 확인합니다. 어느 쪽이든 기다리지 않습니다.
+	 */
+	private void dispatch(long userId, Subscription subscription) {
+		if (subscription.writing.compareAndSet(false, true)) {
+			try {
+				writers.execute(() -> write(userId, subscription));
+			} catch (RejectedExecutionException e) {
+				subscription.writing.set(false);
+			}
+			return;
+		}
+
+		long startedNanos = subscription.writeStartedNanos;
+		if (startedNanos != 0 && System.nanoTime() - startedNanos > sendTimeoutNanos) {
+			drop(userId, subscription);
+		}
+	}
+
+	/**
+	 * 남은 잔액(없으면 heartbeat)이 없을 때까지 씁니다. send와 같은 방식으로, 남은 값이 없을 때만 쓰기 표시를 지우고 끝냅니다.
+	 */
+	private void write(long userId, Subscription subscription) {
+		while (!subscription.dropped.get()) {
+			UserPoint userPoint = subscription.pending.getAndSet(null);
+			// 잔액을 보내면 heartbeat도 보낸 셈이다.
+			boolean heartbeatDue = subscription.heartbeatDue.getAndSet(false);
+			if (userPoint != null || heartbeatDue) {
+				subscription.writeStartedNanos = System.nanoTime();
+				try {
+					if (userPoint != null) {
+						subscription.listener.onChange(userPoint);
+					} else {
+						subscription.listener.onHeartbeat();
+					}
+				} catch (Exception e) {
+					log.debug("잔액 변경 전송에 실패해 구독을 해지합니다. (회원: {})", userId, e);
+					unsubscribe(userId, subscription.listener);
+					return;
+				} finally {
+					subscription.writeStartedNanos = 0;
+				}
+				continue;
+			}
+
+			subscription.writing.set(false);
+			if ((subscription.pending.get() == null && !subscription.heartbeatDue.get())
+				|| !subscription.writing.compareAndSet(false, true)) {
+				return;
+			}
+		}
+	}
+
+	private void drop(long userId, Subscription subscription) {
+		if (!subscription.dropped.compareAndSet(false, true)) {
+			return;
+		}
+
+		log.warn("잔액 변경 전송이 제한 시간을 넘겨 구독을 해지합니다. (회원: {})", userId);
+		unsubscribe(userId, subscription.listener);
+		try {
+			writers.execute(() -> {
+				try {
+					subscription.listener.onDropped();
+				} catch (Exception e) {
+					log.debug("해지한 구독자의 연결을 닫지 못했습니다. (회원: {})", userId, e);
+				}
+			});
+		} catch (RejectedExecutionException ignored) {
+			// 종료 중이면 연결은 서버가 닫는다.
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (heartbeat != null) {
+			heartbeat.shutdownNow();
+		}
+		senders.shutdownNow();
+		writers.shutdownNow();
+	}
+}
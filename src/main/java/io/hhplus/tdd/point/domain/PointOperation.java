@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 일괄 처리 요청에 담기는 단일 충전/사용 요청
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
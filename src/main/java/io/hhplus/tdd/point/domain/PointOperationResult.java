@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 일괄 처리 요청의 항목별 결과
+ * - 성공하면 userPoint에 반영 직후의 잔액이 담기고, 실패하면 error에 실패 사유가 담깁니다.
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        UserPoint userPoint,
+        String error
+) {
+
+    public static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, userPoint, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, String error) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, null, error);
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 회원의 기간별 충전/사용 금액 합계
+ * - fromMillis, toMillis는 실제로 합산한 기간 [fromMillis, toMillis)이며, 요청한 기간을 집계 단위 경계로 넓힌 값입니다.
+ */
+public record PointSummary(
+        long userId,
+        long fromMillis,
+        long toMillis,
+        long chargeAmount,
+        long useAmount
+) {
+
+    public static PointSummary empty(long userId, long fromMillis, long toMillis) {
+        return new PointSummary(userId, fromMillis, toMillis, 0L, 0L);
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.domain;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * 포인트 이체 요청. 보내는 회원은 경로의 회원 아이디입니다.
+ */
+public record PointTransfer(
+        @PositiveOrZero long toUserId,
+        @Positive long amount
+) {
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 이체 결과. 이체 직후 보낸 회원과 받은 회원의 잔액이 담깁니다.
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
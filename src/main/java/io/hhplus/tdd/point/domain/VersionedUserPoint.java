@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 잔액과, 그 잔액을 읽었을 때의 저장 버전
+ * - 버전은 회원의 잔액이 저장될 때마다 커지며, 낙관적 갱신에서 읽은 뒤 다른 저장이 있었는지 확인하는 데 사용합니다.
+ */
+public record VersionedUserPoint(
+        UserPoint userPoint,
+        long version
+) {
+}
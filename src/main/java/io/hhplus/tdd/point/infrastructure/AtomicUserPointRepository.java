@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongUnaryOperator;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
+
+/**
+ * 회원별 잔액을 원자적 셀(AtomicReference)에 보관하고, 락 대신 CAS 반복으로 갱신하는 저장소입니다. (lockfree 프로필)
+ * - 셀에는 [잔액, 수정 시각, 버전]을 담은 불변 상태를 두고, 갱신마다 새 상태로 compare-and-set 합니다.
+ * - update는 경합으로 CAS에 실패하면 바뀐 잔액으로 다시 계산하므로, 한도/잔액 검증은 항상 최신 잔액에 대해 이뤄집니다.
+ * - 어떤 스레드도 락을 잡거나 잠들지(park) 않으므로, 같은 회원에 대한 충전/사용도 코어 수만큼 동시에 진행됩니다.
+ * - 테이블을 거치지 않으므로 write-ahead log(point.wal)로 복구되지 않습니다.
+ */
+@Primary
+@Repository
+@Profile("lockfree")
+public class AtomicUserPointRepository implements UserPointRepository {
+
+	private final ConcurrentHashMap<Long, AtomicReference<State>> cells = new ConcurrentHashMap<>();
+
+	@Override
+	public UserPoint findById(long id) {
+		AtomicReference<State> cell = cells.get(id);
+		return cell != null ? cell.get().toUserPoint(id) : UserPoint.empty(id);
+	}
+
+	@Override
+	public UserPoint save(UserPoint userPoint) {
+		return update(userPoint.id(), current -> userPoint.point());
+	}
+
+	/**
+	 * 저장된 적 없는 회원의 버전은 0입니다.
+	 */
+	@Override
+	public VersionedUserPoint findVersionedById(long id) {
+		AtomicReference<State> cell = cells.get(id);
+		if (cell == null) {
+			return new VersionedUserPoint(UserPoint.empty(id), 0);
+		}
+
+		State state = cell.get();
+		return new VersionedUserPoint(state.toUserPoint(id), state.version);
+	}
+
+	@Override
+	public Optional<UserPoint> compareAndSave(UserPoint userPoint, long expectedVersion) {
+		long id = userPoint.id();
+		AtomicReference<State> cell = cellOf(id);
+
+		State current = cell.get();
+		if (current.version != expectedVersion) {
+			return Optional.empty();
+		}
+
+		State next = current.next(userPoint.point());
+		return cell.compareAndSet(current, next) ? Optional.of(next.toUserPoint(id)) : Optional.empty();
+	}
+
+	/**
+	 * 현재 잔액에 operator를 적용한 값으로 바꾸고 바뀐 잔액을 반환합니다.
+	 * 다른 스레드가 먼저 바꿨다면 바뀐 잔액으로 operator를 다시 적용하며, operator가 던진 예외는 그대로 전달됩니다.
+	 */
+	public UserPoint update(long id, LongUnaryOperator operator) {
+		AtomicReference<State> cell = cellOf(id);
+
+		while (true) {
+			State current = cell.get();
+			State next = current.next(operator.applyAsLong(current.point));
+			if (cell.compareAndSet(current, next)) {
+				return next.toUserPoint(id);
+			}
+			Thread.onSpinWait();
+		}
+	}
+
+	private AtomicReference<State> cellOf(long id) {
+		AtomicReference<State> cell = cells.get(id);
+		if (cell != null) {
+			return cell;
+		}
+		return cells.computeIfAbsent(id, k -> new AtomicReference<>(State.EMPTY));
+	}
+
+	/**
+	 * 수정 시각은 같은 회원 안에서 줄어들지 않도록 맞춥니다.
+	 */
+	private record State(long point, long updateMillis, long version) {
+
+		private static final State EMPTY = new State(0, 0, 0);
+
+		private State next(long newPoint) {
+			return new State(newPoint, Math.max(System.currentTimeMillis(), updateMillis), version + 1);
+		}
+
+		private UserPoint toUserPoint(long id) {
+			return version == 0 ? UserPoint.empty(id) : new UserPoint(id, point, updateMillis);
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
+
+/**
+ * UserPointRepositoryImpl 앞단에서 UserPoint를 메모리에 보관하는 write-through 캐시입니다.
+ * - 조회는 캐시에 있으면 테이블을 거치지 않고, 없으면 테이블에서 읽어 캐시에 채웁니다.
+ * - 저장은 테이블에 먼저 반영한 뒤 캐시를 갱신하므로 테이블이 항상 원본 데이터입니다.
+ * - 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거(LRU)합니다.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "point.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingUserPointRepository implements UserPointRepository {
+
+	private static final int MAX_SEGMENTS = 16;
+	private static final int MIN_SEGMENT_SIZE = 64;
+
+	private final UserPointRepository delegate;
+	private final Segment[] segments;
+
+	/** 저장과 캐시 갱신을 회원 단위로 묶는 락. 회원 락(LockManager)과 같은 방식으로 쓰는 동안에만 둔다. */
+	private final LockManager rowLocks = new LockManager();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public CachingUserPointRepository(
+		@Qualifier("userPointRepositoryImpl") UserPointRepository delegate,
+		@Value("${point.cache.max-size:10000}") int maxSize
+	) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize 값은 1 이상이어야 합니다.");
+		}
+
+		this.delegate = delegate;
+
+		// 락 경합을 줄이기 위해 구간을 나누되, 크기가 작으면 LRU 순서가 흐트러지지 않도록 하나만 쓴다.
+		int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize / MIN_SEGMENT_SIZE)));
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment(Math.max(1, maxSize / segmentCount));
+		}
+	}
+
+	@Override
+	public UserPoint findById(long id) {
+		Segment segment = segmentFor(id);
+
+		long sequence;
+		segment.lock.lock();
+		try {
+			UserPoint cached = segment.entries.get(id);
+			if (cached != null) {
+				hits.increment();
+				return cached;
+			}
+			sequence = segment.writeSequence;
+		} finally {
+			segment.lock.unlock();
+		}
+
+		misses.increment();
+		UserPoint loaded = delegate.findById(id);
+
+		segment.lock.lock();
+		try {
+			// 테이블을 읽는 사이에 저장이 있었다면 읽은 값이 오래된 값일 수 있으므로 캐시에 넣지 않는다.
+			if (segment.writeSequence == sequence) {
+				segment.entries.putIfAbsent(id, loaded);
+			}
+		} finally {
+			segment.lock.unlock();
+		}
+
+		return loaded;
+	}
+
+	@Override
+	public UserPoint save(UserPoint userPoint) {
+		return writeLocked(userPoint.id(), () -> {
+			Segment segment = segmentFor(userPoint.id());
+
+			UserPoint saved;
+			try {
+				saved = delegate.save(userPoint);
+			} catch (RuntimeException e) {
+				invalidate(segment, userPoint.id());
+				throw e;
+			}
+
+			update(segment, saved);
+			return saved;
+		});
+	}
+
+	/**
+	 * 캐시된 값에는 버전이 없으므로 원본 저장소에서 읽습니다. 원본 저장소는 최근 회원의 잔액을 버전과 함께 보관해 테이블을 거치지 않습니다.
+	 */
+	@Override
+	public VersionedUserPoint findVersionedById(long id) {
+		return delegate.findVersionedById(id);
+	}
+
+	@Override
+	public Optional<UserPoint> compareAndSave(UserPoint userPoint, long expectedVersion) {
+		long id = userPoint.id();
+		ReentrantLock rowLock = rowLocks.acquire(id);
+		try {
+			if (!rowLock.tryLock()) {
+				return Optional.empty();
+			}
+			try {
+				Segment segment = segmentFor(id);
+
+				Optional<UserPoint> saved;
+				try {
+					saved = delegate.compareAndSave(userPoint, expectedVersion);
+				} catch (RuntimeException e) {
+					invalidate(segment, id);
+					throw e;
+				}
+
+				saved.ifPresent(point -> update(segment, point));
+				return saved;
+			} finally {
+				rowLock.unlock();
+			}
+		} finally {
+			rowLocks.release(id);
+		}
+	}
+
+	/**
+	 * 캐시 갱신까지 회원별 락 안에서 하므로, 락 없이 저장한 낙관적 갱신의 늦은 캐시 갱신이 더 최신 잔액을 덮어쓰지 않습니다.
+	 */
+	@Override
+	public <T> T writeLocked(long id, Supplier<T> action) {
+		ReentrantLock rowLock = rowLocks.lock(id);
+		try {
+			return delegate.writeLocked(id, action);
+		} finally {
+			rowLock.unlock();
+			rowLocks.release(id);
+		}
+	}
+
+	private void update(Segment segment, UserPoint saved) {
+		segment.lock.lock();
+		try {
+			segment.writeSequence++;
+			segment.entries.put(saved.id(), saved);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * 테이블 반영 여부를 알 수 없으므로 캐시된 값을 버리고 다음 조회 때 다시 읽는다.
+	 */
+	private void invalidate(Segment segment, long id) {
+		segment.lock.lock();
+		try {
+			segment.writeSequence++;
+			segment.entries.remove(id);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	public CacheStats stats() {
+		long size = 0;
+		for (Segment segment : segments) {
+			segment.lock.lock();
+			try {
+				size += segment.entries.size();
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+	}
+
+	private Segment segmentFor(long id) {
+		int h = Long.hashCode(id);
+		h ^= (h >>> 16);
+		return segments[h & (segments.length - 1)];
+	}
+
+	public record CacheStats(long hits, long misses, long evictions, long size) {
+	}
+
+	private class Segment {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final LinkedHashMap<Long, UserPoint> entries;
+		private long writeSequence;
+
+		private Segment(int capacity) {
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+					boolean overflow = size() > capacity;
+					if (overflow) {
+						evictions.increment();
+					}
+					return overflow;
+				}
+			};
+		}
+	}
+}
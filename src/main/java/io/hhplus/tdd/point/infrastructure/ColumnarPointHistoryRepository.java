@@ -0,0 +1,293 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
+import io.hhplus.tdd.common.pagination.PageRequest;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+/**
+ * 포인트 내역을 레코드 객체 대신 열(column)별 기본형 배열에 보관하는 저장소입니다. (columnar 프로필)
+ * - 회원 id, 금액, 수정 시각은 long 배열에, 트랜잭션 종류는 byte 배열에 8192행 단위 청크로 나눠 담습니다.
+ * - id는 저장 순서대로 1부터 매기므로 행 번호 + 1로 계산하고 따로 저장하지 않습니다.
+ * - 회원별로 자신의 행 번호를 int 배열로 들고 있어, 내역 한 건당 25 + 4 = 29바이트를 사용합니다.
+ * - 기간 합계용 버킷은 버킷 하나에 24바이트가 들므로, 1분 대신 1시간 단위로 모아 내역 한 건당 몫을 줄입니다.
+ *   합계 기간은 시간 경계로 넓혀 계산합니다.
+ * - PointHistory는 요청한 페이지의 행만 만들어 반환합니다.
+ * - 테이블을 거치지 않으므로 write-ahead log(point.wal)로 복구되지 않고, 내역 지연 기록(write-behind)과 함께 쓸 수 없습니다.
+ */
+@Primary
+@Repository
+@Profile("columnar")
+public class ColumnarPointHistoryRepository implements PointHistoryRepository {
+
+	static final int ROW_BYTES = Long.BYTES * 3 + 1;
+
+	private static final int CHUNK_BITS = 13;
+	private static final int CHUNK_ROWS = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+
+	private static final TransactionType[] TYPES = TransactionType.values();
+
+	private static final long ROLLUP_BUCKET_MILLIS = 60 * 60_000L;
+
+	private final ReentrantLock appendLock = new ReentrantLock();
+
+	/** 청크가 늘어날 때만 새 Columns로 바꾼다. 이미 기록된 행은 바뀌지 않는다. */
+	private volatile Columns columns = new Columns(0);
+	/** appendLock 안에서만 바꾼다. */
+	private int rowCount;
+
+	private final ConcurrentHashMap<Long, UserRows> users = new ConcurrentHashMap<>();
+
+	@Override
+	public List<PointHistory> findAllByUserId(long userId, PageRequest pageRequest) {
+		UserRows rows = users.get(userId);
+		if (rows == null) {
+			return List.of();
+		}
+
+		int[] positions;
+		int size;
+		rows.lock.lock();
+		try {
+			positions = rows.positions;
+			size = rows.size;
+		} finally {
+			rows.lock.unlock();
+		}
+
+		int offset = pageRequest.offset();
+		if (offset >= size) {
+			return List.of();
+		}
+
+		return materialize(userId, positions, offset, Math.min(offset + pageRequest.size(), size));
+	}
+
+	@Override
+	public CursorPage<PointHistory> findAllByUserId(long userId, CursorRequest cursorRequest) {
+		UserRows rows = users.get(userId);
+		if (rows == null) {
+			return CursorPage.empty();
+		}
+
+		int[] positions;
+		int size;
+		rows.lock.lock();
+		try {
+			positions = rows.positions;
+			size = rows.size;
+		} finally {
+			rows.lock.unlock();
+		}
+
+		// id = 행 번호 + 1 이므로, id > after 인 첫 행은 행 번호 >= after 인 첫 위치다.
+		long after = cursorRequest.after();
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (positions[mid] < after) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		if (low >= size) {
+			return CursorPage.empty();
+		}
+
+		int limit = Math.min(low + cursorRequest.size(), size);
+		Long nextCursor = limit < size ? positions[limit - 1] + 1L : null;
+
+		return new CursorPage<>(materialize(userId, positions, low, limit), nextCursor);
+	}
+
+	/**
+	 * 같은 회원의 행 번호가 오름차순으로 쌓이도록 회원 락을 잡은 채 행을 추가합니다.
+	 */
+	@Override
+	public PointHistory save(PointHistory pointHistory) {
+		UserRows rows = users.computeIfAbsent(pointHistory.userId(), k -> new UserRows());
+
+		int row;
+		rows.lock.lock();
+		try {
+			row = append(pointHistory);
+			rows.add(row);
+			rows.rollup.add(pointHistory);
+		} finally {
+			rows.lock.unlock();
+		}
+
+		return new PointHistory(row + 1L, pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+	}
+
+	@Override
+	public PointSummary summarize(long userId, long fromMillis, long toMillis) {
+		UserRows rows = users.get(userId);
+		if (rows == null) {
+			return new PointHistoryRollup(ROLLUP_BUCKET_MILLIS).summarize(userId, fromMillis, toMillis);
+		}
+
+		rows.lock.lock();
+		try {
+			return rows.rollup.summarize(userId, fromMillis, toMillis);
+		} finally {
+			rows.lock.unlock();
+		}
+	}
+
+	public ColumnFootprint footprint() {
+		long rowBytes;
+		appendLock.lock();
+		try {
+			rowBytes = (long) columns.chunkCount() * CHUNK_ROWS * ROW_BYTES;
+		} finally {
+			appendLock.unlock();
+		}
+
+		long rows = 0;
+		long indexBytes = 0;
+		for (UserRows userRows : users.values()) {
+			userRows.lock.lock();
+			try {
+				rows += userRows.size;
+				indexBytes += (long) userRows.positions.length * Integer.BYTES + userRows.rollup.bytes();
+			} finally {
+				userRows.lock.unlock();
+			}
+		}
+
+		return new ColumnFootprint(rows, rowBytes + indexBytes);
+	}
+
+	private int append(PointHistory pointHistory) {
+		appendLock.lock();
+		try {
+			if (rowCount == Integer.MAX_VALUE) {
+				throw new IllegalStateException("포인트 내역 저장소의 최대 행 수를 초과했습니다.");
+			}
+
+			int row = rowCount;
+			int chunk = row >>> CHUNK_BITS;
+			Columns current = columns;
+			if (chunk == current.chunkCount()) {
+				current = current.grow();
+			}
+
+			int index = row & CHUNK_MASK;
+			current.userIds[chunk][index] = pointHistory.userId();
+			current.amounts[chunk][index] = pointHistory.amount();
+			current.updateMillis[chunk][index] = pointHistory.updateMillis();
+			current.types[chunk][index] = (byte) pointHistory.type().ordinal();
+
+			columns = current;
+			rowCount = row + 1;
+			return row;
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	private List<PointHistory> materialize(long userId, int[] positions, int from, int to) {
+		Columns current = columns;
+
+		List<PointHistory> page = new ArrayList<>(to - from);
+		for (int i = from; i < to; i++) {
+			int row = positions[i];
+			int chunk = row >>> CHUNK_BITS;
+			int index = row & CHUNK_MASK;
+			page.add(new PointHistory(
+				row + 1L,
+				userId,
+				current.amounts[chunk][index],
+				TYPES[current.types[chunk][index]],
+				current.updateMillis[chunk][index]
+			));
+		}
+
+		return List.copyOf(page);
+	}
+
+	/**
+	 * @param rows  저장된 내역 수
+	 * @param bytes 열 청크, 회원별 행 번호 배열, 회원별 기간 합계 버킷이 차지하는 메모리
+	 */
+	public record ColumnFootprint(long rows, long bytes) {
+
+		public long bytesPerRow() {
+			return rows == 0 ? 0 : bytes / rows;
+		}
+	}
+
+	private static final class Columns {
+		private final long[][] userIds;
+		private final long[][] amounts;
+		private final long[][] updateMillis;
+		private final byte[][] types;
+
+		private Columns(int chunkCount) {
+			this(new long[chunkCount][], new long[chunkCount][], new long[chunkCount][], new byte[chunkCount][]);
+		}
+
+		private Columns(long[][] userIds, long[][] amounts, long[][] updateMillis, byte[][] types) {
+			this.userIds = userIds;
+			this.amounts = amounts;
+			this.updateMillis = updateMillis;
+			this.types = types;
+		}
+
+		private int chunkCount() {
+			return types.length;
+		}
+
+		/**
+		 * 청크 하나를 덧붙인 새 Columns를 만듭니다. 기존 청크는 그대로 공유하므로 행을 복사하지 않습니다.
+		 */
+		private Columns grow() {
+			int count = chunkCount();
+			Columns grown = new Columns(
+				Arrays.copyOf(userIds, count + 1),
+				Arrays.copyOf(amounts, count + 1),
+				Arrays.copyOf(updateMillis, count + 1),
+				Arrays.copyOf(types, count + 1)
+			);
+			grown.userIds[count] = new long[CHUNK_ROWS];
+			grown.amounts[count] = new long[CHUNK_ROWS];
+			grown.updateMillis[count] = new long[CHUNK_ROWS];
+			grown.types[count] = new byte[CHUNK_ROWS];
+			return grown;
+		}
+	}
+
+	/**
+	 * 회원의 행 번호 목록. 기존 원소는 바꾸지 않고 뒤에만 추가하므로, 락 안에서 읽은 배열과 크기는 락 밖에서도 그대로 쓸 수 있다.
+	 */
+	private static final class UserRows {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final PointHistoryRollup rollup = new PointHistoryRollup(ROLLUP_BUCKET_MILLIS);
+		private int[] positions = new int[4];
+		private int size;
+
+		private void add(int row) {
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, size + (size >> 1));
+			}
+			positions[size++] = row;
+		}
+	}
+}
@@ -0,0 +1,445 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 변경 내용을 미리 크기를 잡아 둔 세그먼트 파일에 메모리 매핑으로 순서대로 이어 쓰는 write-ahead log 입니다.
+ * - 레코드는 40바이트 고정 길이이며, 세그먼트가 차면 다음 세그먼트를 만들어 이어 씁니다.
+ * - 여러 스레드가 동시에 기록하면 먼저 fsync를 시작한 스레드가 그때까지 쌓인 기록을 한 번에 내려(group fsync),
+ *   나머지 스레드는 자신의 기록이 포함됐는지만 확인하고 반환합니다.
+ * - 주기적으로 다 쓴 세그먼트를 압축합니다. 잔액은 스냅샷에 합치고 포인트 내역은 보관 파일로 옮긴 뒤 세그먼트를 삭제합니다.
+ * - 시작할 때 스냅샷의 잔액에 스냅샷 이후 세그먼트의 잔액을 이어 반영해 테이블에 채웁니다.
+ *   체크섬이 맞지 않는 레코드(기록 도중 중단된 꼬리)에서 해당 세그먼트 읽기를 멈춥니다.
+ * - 포인트 내역은 테이블에 다시 넣지 않습니다. 보관 파일은 매핑만 해 두고 회원별 내역을 처음 조회할 때 읽으며,
+ *   스냅샷 이후 세그먼트의 내역만 메모리에 들고 있습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+public class MappedPointLog implements PointLog {
+
+	/*
+	 * 레코드 구조 (40 bytes)
+	 * [0] kind  [1] transaction type  [2..3] reserved  [4..7] crc32c
+	 * [8..15] userId  [16..23] point 또는 amount  [24..31] updateMillis  [32..39] reserved
+	 */
+	static final int RECORD_BYTES = 40;
+
+	private static final byte EMPTY = 0;
+	private static final byte USER_POINT = 1;
+	private static final byte POINT_HISTORY = 2;
+
+	private static final String SEGMENT_SUFFIX = ".wal";
+	private static final String SNAPSHOT_FILE = "snapshot.col";
+	private static final String ARCHIVE_FILE = "history-archive.col";
+
+	@FunctionalInterface
+	private interface RecordVisitor {
+		void visit(byte kind, byte type, long userId, long value, long updateMillis);
+	}
+
+	private final Path directory;
+	private final int segmentBytes;
+	private final boolean fsync;
+	private final long snapshotIntervalSeconds;
+
+	private final UserPointTable userPointTable;
+
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final ReentrantLock syncLock = new ReentrantLock();
+
+	/** appendLock 안에서만 바꾼다. */
+	private Segment current;
+	private long appendedSequence;
+
+	private volatile long durableSequence;
+
+	private ScheduledExecutorService compactor;
+
+	/** 복구할 때 매핑한 보관 파일. 이후 압축으로 덧붙는 블록은 포함하지 않는다. */
+	private PointHistoryArchive.Index archive = PointHistoryArchive.Index.EMPTY;
+	/** 복구할 때 스냅샷 이후 세그먼트에서 읽은 회원별 포인트 내역. 보관 파일 내역 뒤로 id를 이어 매긴다. */
+	private Map<Long, List<PointHistory>> replayedHistories = Map.of();
+	private long recoveredHistoryCount;
+
+	public MappedPointLog(
+		@Value("${point.wal.directory:./data/wal}") String directory,
+		@Value("${point.wal.segment-bytes:67108864}") int segmentBytes,
+		@Value("${point.wal.fsync:true}") boolean fsync,
+		@Value("${point.wal.snapshot-interval-seconds:300}") long snapshotIntervalSeconds,
+		UserPointTable userPointTable
+	) {
+		if (segmentBytes < RECORD_BYTES) {
+			throw new IllegalArgumentException("segmentBytes 값은 " + RECORD_BYTES + " 이상이어야 합니다.");
+		}
+
+		this.directory = Path.of(directory);
+		this.segmentBytes = segmentBytes - segmentBytes % RECORD_BYTES;
+		this.fsync = fsync;
+		this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+		this.userPointTable = userPointTable;
+	}
+
+	/**
+	 * 스냅샷과 스냅샷 이후 세그먼트를 읽어 잔액을 복구하고, 마지막 세그먼트의 끝에서부터 이어 쓸 준비를 합니다.
+	 * 잔액은 회원별 마지막 값만 테이블에 반영합니다. 포인트 내역은 느린 테이블에 한 건씩 다시 넣지 않고,
+	 * 보관 파일은 매핑만 하고 세그먼트의 내역은 회원별로 모아 두어 기록된 순서대로 id를 매깁니다.
+	 */
+	@PostConstruct
+	public void recover() throws IOException {
+		Files.createDirectories(directory);
+
+		Map<Long, Long> balances = new LinkedHashMap<>();
+		long coveredSegment = -1;
+		long archiveBytes = 0;
+
+		PointSnapshot snapshot = PointSnapshot.read(directory.resolve(SNAPSHOT_FILE));
+		if (snapshot != null) {
+			snapshot.putAllTo(balances);
+			coveredSegment = snapshot.coveredSegment();
+			archiveBytes = snapshot.archiveBytes();
+		}
+
+		archive = PointHistoryArchive.map(directory.resolve(ARCHIVE_FILE), archiveBytes);
+
+		Map<Long, List<PointHistory>> histories = new HashMap<>();
+		long[] nextId = {archive.size() + 1};
+		RecordVisitor replay = (kind, type, userId, value, updateMillis) -> {
+			if (kind == USER_POINT) {
+				balances.put(userId, value);
+			} else {
+				histories.computeIfAbsent(userId, k -> new ArrayList<>())
+					.add(new PointHistory(nextId[0]++, userId, value, TransactionType.values()[type], updateMillis));
+			}
+		};
+
+		Segment last = null;
+		for (Path file : segmentFiles()) {
+			long index = indexOf(file);
+			if (index <= coveredSegment) {
+				// 스냅샷을 쓴 뒤 삭제하기 전에 멈춘 세그먼트
+				Files.deleteIfExists(file);
+				continue;
+			}
+
+			if (last != null) {
+				last.close();
+			}
+			last = Segment.open(file, index, segmentBytes);
+			last.position = readRecords(last.buffer, last.limit, file, replay);
+		}
+
+		replayedHistories = histories;
+		recoveredHistoryCount = nextId[0] - 1;
+
+		balances.forEach(userPointTable::insertOrUpdate);
+		log.info("포인트 로그 복구가 완료됐습니다. (회원: {}, 보관된 포인트 내역: {}, 로그의 포인트 내역: {})",
+			balances.size(), archive.size(), recoveredHistoryCount - archive.size());
+
+		current = last != null ? last : Segment.open(segmentFile(coveredSegment + 1), coveredSegment + 1, segmentBytes);
+
+		if (snapshotIntervalSeconds > 0) {
+			compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "point-log-compactor");
+				thread.setDaemon(true);
+				return thread;
+			});
+			compactor.scheduleWithFixedDelay(this::compactQuietly, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * 다 쓴 세그먼트의 잔액을 이전 스냅샷에 합쳐 새 스냅샷을 만들고, 포인트 내역은 보관 파일로 옮긴 뒤 세그먼트를 삭제합니다.
+	 * 요청 처리 스레드와는 현재 세그먼트 번호를 읽을 때만 락을 나눠 씁니다.
+	 */
+	void compact() throws IOException {
+		long sealedSegment;
+		appendLock.lock();
+		try {
+			sealedSegment = current.index - 1;
+		} finally {
+			appendLock.unlock();
+		}
+
+		PointSnapshot previous = PointSnapshot.read(directory.resolve(SNAPSHOT_FILE));
+		long coveredSegment = previous != null ? previous.coveredSegment() : -1;
+		if (sealedSegment <= coveredSegment) {
+			return;
+		}
+
+		Map<Long, Long> balances = new LinkedHashMap<>();
+		if (previous != null) {
+			previous.putAllTo(balances);
+		}
+
+		PointHistoryArchive.Block block = new PointHistoryArchive.Block();
+		RecordVisitor merge = (kind, type, userId, value, updateMillis) -> {
+			if (kind == USER_POINT) {
+				balances.put(userId, value);
+			} else {
+				block.add(userId, value, type, updateMillis);
+			}
+		};
+
+		List<Path> sealed = segmentFiles().stream()
+			.filter(file -> indexOf(file) > coveredSegment && indexOf(file) <= sealedSegment)
+			.toList();
+		for (Path file : sealed) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				readRecords(buffer, buffer.capacity() - buffer.capacity() % RECORD_BYTES, file, merge);
+			}
+		}
+
+		// 보관 파일 -> 스냅샷 -> 세그먼트 삭제 순서로 진행해, 어느 단계에서 멈춰도 다음 복구 때 중복이나 유실이 없다.
+		long archiveBytes = PointHistoryArchive.append(directory.resolve(ARCHIVE_FILE), previous != null ? previous.archiveBytes() : 0, block);
+		PointSnapshot snapshot = PointSnapshot.of(sealedSegment, archiveBytes, balances);
+		snapshot.write(directory.resolve(SNAPSHOT_FILE));
+
+		for (Path file : sealed) {
+			Files.deleteIfExists(file);
+		}
+
+		log.info("포인트 로그를 압축했습니다. (세그먼트: {}개, 회원: {}, 옮긴 포인트 내역: {})", sealed.size(), snapshot.userCount(), block.size());
+	}
+
+	private void compactQuietly() {
+		try {
+			compact();
+		} catch (Exception e) {
+			log.error("포인트 로그 압축에 실패했습니다. 다음 주기에 다시 시도합니다.", e);
+		}
+	}
+
+	@Override
+	public void appendUserPoint(long id, long point) {
+		append(USER_POINT, (byte) 0, id, point, System.currentTimeMillis());
+	}
+
+	@Override
+	public void appendPointHistory(PointHistory pointHistory) {
+		append(POINT_HISTORY, (byte) pointHistory.type().ordinal(), pointHistory.userId(), pointHistory.amount(), pointHistory.updateMillis());
+	}
+
+	@Override
+	public long recoveredHistoryCount() {
+		return recoveredHistoryCount;
+	}
+
+	@Override
+	public List<PointHistory> recoveredHistories(long userId) {
+		List<PointHistory> archived = archive.historiesOf(userId);
+		List<PointHistory> replayed = replayedHistories.getOrDefault(userId, List.of());
+		if (replayed.isEmpty()) {
+			return archived;
+		}
+
+		List<PointHistory> histories = new ArrayList<>(archived);
+		histories.addAll(replayed);
+		return histories;
+	}
+
+	private void append(byte kind, byte type, long userId, long value, long updateMillis) {
+		ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+		record.put(1, type);
+		record.putLong(8, userId);
+		record.putLong(16, value);
+		record.putLong(24, updateMillis);
+		record.put(0, kind);
+		record.putInt(4, checksum(record));
+
+		long sequence;
+		appendLock.lock();
+		try {
+			if (current.position + RECORD_BYTES > current.limit) {
+				roll();
+			}
+			// kind를 마지막에 써서, 중간에 멈춘 레코드는 빈 칸이나 체크섬 불일치로 보이게 한다.
+			current.buffer.put(current.position + 1, record, 1, RECORD_BYTES - 1);
+			current.buffer.put(current.position, kind);
+			current.position += RECORD_BYTES;
+			sequence = ++appendedSequence;
+		} finally {
+			appendLock.unlock();
+		}
+
+		if (fsync) {
+			sync(sequence);
+		}
+	}
+
+	/**
+	 * sequence까지의 기록이 디스크에 내려갈 때까지 기다립니다.
+	 * fsync는 한 번에 한 스레드만 하며, 기다리는 동안 다른 스레드가 한 fsync에 자신의 기록이 포함됐다면 바로 반환합니다.
+	 */
+	private void sync(long sequence) {
+		if (durableSequence >= sequence) {
+			return;
+		}
+
+		syncLock.lock();
+		try {
+			if (durableSequence >= sequence) {
+				return;
+			}
+
+			MappedByteBuffer target;
+			long upTo;
+			appendLock.lock();
+			try {
+				target = current.buffer;
+				upTo = appendedSequence;
+			} finally {
+				appendLock.unlock();
+			}
+
+			// 이전 세그먼트는 넘어갈 때 이미 내려 두었으므로 현재 세그먼트만 내리면 upTo까지 모두 반영된다.
+			target.force();
+			durableSequence = upTo;
+		} finally {
+			syncLock.unlock();
+		}
+	}
+
+	private void roll() {
+		Segment previous = current;
+		previous.buffer.force();
+
+		try {
+			current = Segment.open(segmentFile(previous.index + 1), previous.index + 1, segmentBytes);
+			previous.close();
+		} catch (IOException e) {
+			current = previous;
+			throw new UncheckedIOException("포인트 로그 세그먼트를 만들지 못했습니다.", e);
+		}
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		if (compactor != null) {
+			compactor.shutdown();
+			try {
+				compactor.awaitTermination(30, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		appendLock.lock();
+		try {
+			if (current != null) {
+				current.buffer.force();
+				current.close();
+			}
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * 빈 칸이나 체크섬이 맞지 않는 레코드 직전까지 읽고, 읽기를 멈춘 위치를 반환합니다.
+	 */
+	private static int readRecords(ByteBuffer buffer, int limit, Path file, RecordVisitor visitor) {
+		ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+
+		int position = 0;
+		while (position + RECORD_BYTES <= limit) {
+			buffer.get(position, record.array(), 0, RECORD_BYTES);
+			byte kind = record.get(0);
+			if (kind == EMPTY) {
+				break;
+			}
+			if (record.getInt(4) != checksum(record)) {
+				log.warn("손상된 로그 레코드를 만나 이후 기록을 무시합니다. (세그먼트: {}, 위치: {})", file, position);
+				break;
+			}
+
+			visitor.visit(kind, record.get(1), record.getLong(8), record.getLong(16), record.getLong(24));
+			position += RECORD_BYTES;
+		}
+
+		return position;
+	}
+
+	private List<Path> segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+				.sorted()
+				.toList();
+		}
+	}
+
+	private Path segmentFile(long index) {
+		return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+	}
+
+	private static long indexOf(Path file) {
+		String name = file.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private static int checksum(ByteBuffer record) {
+		CRC32C crc = new CRC32C();
+		crc.update(record.get(0));
+		crc.update(record.get(1));
+		crc.update(record.array(), 8, RECORD_BYTES - 8);
+		return (int) crc.getValue();
+	}
+
+	private static final class Segment {
+		private final long index;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private final int limit;
+		private int position;
+
+		private Segment(long index, FileChannel channel, MappedByteBuffer buffer) {
+			this.index = index;
+			this.channel = channel;
+			this.buffer = buffer;
+			this.limit = buffer.capacity() - buffer.capacity() % RECORD_BYTES;
+		}
+
+		/**
+		 * 세그먼트를 매핑합니다. 새 파일이면 매핑하면서 size만큼 미리 늘려 두고, 기존 파일이면 파일 크기 그대로 매핑합니다.
+		 */
+		private static Segment open(Path file, long index, int size) throws IOException {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			long length = channel.size() > 0 ? channel.size() : size;
+			return new Segment(index, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, length));
+		}
+
+		private void close() throws IOException {
+			channel.close();
+		}
+	}
+}
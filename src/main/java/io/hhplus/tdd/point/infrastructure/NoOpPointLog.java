@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+
+/**
+ * 로그를 남기지 않습니다. 테이블 내용은 재시작하면 사라집니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.wal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpPointLog implements PointLog {
+
+	@Override
+	public void appendUserPoint(long id, long point) {
+	}
+
+	@Override
+	public void appendPointHistory(PointHistory pointHistory) {
+	}
+}
@@ -0,0 +1,293 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
+
+/**
+ * UserPointTable 대신 잔액을 direct ByteBuffer 위의 open addressing 해시 테이블에 보관하는 저장소입니다. (offheap 프로필)
+ * - 슬롯 하나는 [회원 id][잔액][수정 시각] 24바이트이며, 키를 박싱하거나 저장마다 객체를 만들지 않습니다.
+ * - 적재율이 0.75를 넘으면 두 배로 늘리므로 회원 한 명당 32~64바이트를 힙 밖에서 사용합니다.
+ * - 회원 id 해시의 상위 비트로 구간을 나누고, 구간마다 락을 두어 서로 다른 회원의 저장이 경합하지 않도록 했습니다.
+ * - 수정 시각을 회원별로 단조 증가시켜 저장 버전으로 사용하므로, 버전을 위한 공간을 따로 쓰지 않습니다.
+ * - 테이블을 거치지 않으므로 write-ahead log(point.wal)로 복구되지 않습니다.
+ */
+@Primary
+@Repository
+@Profile("offheap")
+public class OffHeapUserPointRepository implements UserPointRepository {
+
+	static final int SLOT_BYTES = 24;
+
+	private static final int POINT_OFFSET = 8;
+	private static final int UPDATE_MILLIS_OFFSET = 16;
+
+	private static final int SEGMENT_BITS = 6;
+	private static final int MIN_SEGMENT_SLOTS = 16;
+	private static final int MAX_SEGMENT_SLOTS = 1 << 26; // 24바이트 슬롯으로 int 범위의 버퍼에 담을 수 있는 최대 2의 거듭제곱
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private static final long NO_EXPECTED_VERSION = -1L;
+	private static final long VERSION_CONFLICT = -1L;
+
+	private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+	/** writeLocked 구간과 compareAndSave를 회원 단위로 가르는 락. 쓰는 동안에만 둔다. */
+	private final LockManager rowLocks = new LockManager();
+
+	public OffHeapUserPointRepository(
+		@Value("${point.offheap.initial-capacity:1048576}") int initialCapacity
+	) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException("initialCapacity 값은 1 이상이어야 합니다.");
+		}
+
+		int slots = MIN_SEGMENT_SLOTS;
+		long perSegment = (long) Math.ceil(initialCapacity / LOAD_FACTOR / segments.length);
+		while (slots < perSegment && slots < MAX_SEGMENT_SLOTS) {
+			slots <<= 1;
+		}
+
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment(slots);
+		}
+	}
+
+	@Override
+	public UserPoint findById(long id) {
+		long h = mix(id);
+		UserPoint userPoint = segmentFor(h).get(id, h);
+		return userPoint != null ? userPoint : UserPoint.empty(id);
+	}
+
+	@Override
+	public UserPoint save(UserPoint userPoint) {
+		long id = userPoint.id();
+
+		long h = mix(id);
+		long updateMillis = segmentFor(h).put(id, h, userPoint.point(), NO_EXPECTED_VERSION, System.currentTimeMillis());
+
+		return new UserPoint(id, userPoint.point(), updateMillis);
+	}
+
+	/**
+	 * 저장된 적 없는 회원의 버전은 0입니다.
+	 */
+	@Override
+	public VersionedUserPoint findVersionedById(long id) {
+		long h = mix(id);
+		UserPoint userPoint = segmentFor(h).get(id, h);
+		return userPoint != null ? new VersionedUserPoint(userPoint, userPoint.updateMillis()) : new VersionedUserPoint(UserPoint.empty(id), 0);
+	}
+
+	@Override
+	public Optional<UserPoint> compareAndSave(UserPoint userPoint, long expectedVersion) {
+		long id = userPoint.id();
+		ReentrantLock rowLock = rowLocks.acquire(id);
+		try {
+			// writeLocked 구간이 진행 중이면 그 구간이 저장할 것이므로 기다리지 않고 실패한다.
+			if (!rowLock.tryLock()) {
+				return Optional.empty();
+			}
+			try {
+				long h = mix(id);
+				long updateMillis = segmentFor(h).put(id, h, userPoint.point(), expectedVersion, System.currentTimeMillis());
+				if (updateMillis == VERSION_CONFLICT) {
+					return Optional.empty();
+				}
+
+				return Optional.of(new UserPoint(id, userPoint.point(), updateMillis));
+			} finally {
+				rowLock.unlock();
+			}
+		} finally {
+			rowLocks.release(id);
+		}
+	}
+
+	@Override
+	public <T> T writeLocked(long id, Supplier<T> action) {
+		ReentrantLock rowLock = rowLocks.lock(id);
+		try {
+			return action.get();
+		} finally {
+			rowLock.unlock();
+			rowLocks.release(id);
+		}
+	}
+
+	public MemoryFootprint footprint() {
+		long users = 0;
+		long bytes = 0;
+		for (Segment segment : segments) {
+			segment.lock.lock();
+			try {
+				users += segment.size + (segment.hasZeroKey ? 1 : 0);
+				bytes += segment.slots.capacity();
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+
+		return new MemoryFootprint(users, bytes);
+	}
+
+	private Segment segmentFor(long h) {
+		return segments[(int) (h >>> (Long.SIZE - SEGMENT_BITS))];
+	}
+
+	private static long mix(long id) {
+		long h = id * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 32);
+	}
+
+	/**
+	 * @param users        저장된 회원 수
+	 * @param offHeapBytes 슬롯 배열이 차지하는 힙 밖 메모리
+	 */
+	public record MemoryFootprint(long users, long offHeapBytes) {
+
+		public long bytesPerMillionUsers() {
+			return users == 0 ? 0 : offHeapBytes * 1_000_000L / users;
+		}
+	}
+
+	/**
+	 * 빈 슬롯은 키 0으로 표시하므로, 회원 id 0은 슬롯 대신 필드에 따로 보관합니다.
+	 */
+	private static final class Segment {
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private ByteBuffer slots;
+		private int mask;
+		private int size;
+
+		private boolean hasZeroKey;
+		private long zeroPoint;
+		private long zeroUpdateMillis;
+
+		private Segment(int slotCount) {
+			this.slots = allocate(slotCount);
+			this.mask = slotCount - 1;
+		}
+
+		/**
+		 * 저장된 적 없는 회원이면 null을 반환합니다.
+		 */
+		private UserPoint get(long id, long h) {
+			lock.lock();
+			try {
+				if (id == 0) {
+					return hasZeroKey ? new UserPoint(0, zeroPoint, zeroUpdateMillis) : null;
+				}
+
+				int offset = find(slots, mask, id, h);
+				if (slots.getLong(offset) == 0) {
+					return null;
+				}
+				return new UserPoint(id, slots.getLong(offset + POINT_OFFSET), slots.getLong(offset + UPDATE_MILLIS_OFFSET));
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * 잔액을 저장하고 기록한 수정 시각을 반환합니다. 수정 시각은 이전 값보다 항상 커지도록 맞춥니다.
+		 * expectedVersion이 NO_EXPECTED_VERSION이 아니고 현재 수정 시각과 다르면 저장하지 않고 VERSION_CONFLICT를 반환합니다.
+		 */
+		private long put(long id, long h, long point, long expectedVersion, long now) {
+			lock.lock();
+			try {
+				if (id == 0) {
+					long current = hasZeroKey ? zeroUpdateMillis : 0;
+					if (expectedVersion != NO_EXPECTED_VERSION && expectedVersion != current) {
+						return VERSION_CONFLICT;
+					}
+					hasZeroKey = true;
+					zeroPoint = point;
+					zeroUpdateMillis = Math.max(now, current + 1);
+					return zeroUpdateMillis;
+				}
+
+				int offset = find(slots, mask, id, h);
+				boolean exists = slots.getLong(offset) != 0;
+				long current = exists ? slots.getLong(offset + UPDATE_MILLIS_OFFSET) : 0;
+				if (expectedVersion != NO_EXPECTED_VERSION && expectedVersion != current) {
+					return VERSION_CONFLICT;
+				}
+
+				if (!exists) {
+					if (size + 1 > (mask + 1) * LOAD_FACTOR) {
+						grow();
+						offset = find(slots, mask, id, h);
+					}
+					slots.putLong(offset, id);
+					size++;
+				}
+
+				long updateMillis = Math.max(now, current + 1);
+				slots.putLong(offset + POINT_OFFSET, point);
+				slots.putLong(offset + UPDATE_MILLIS_OFFSET, updateMillis);
+				return updateMillis;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void grow() {
+			int slotCount = mask + 1;
+			if (slotCount >= MAX_SEGMENT_SLOTS) {
+				throw new IllegalStateException("오프힙 잔액 저장소의 구간 크기 한도를 초과했습니다. (" + slotCount + ')');
+			}
+
+			int newSlotCount = slotCount << 1;
+			ByteBuffer grown = allocate(newSlotCount);
+			int newMask = newSlotCount - 1;
+
+			for (int offset = 0; offset < slots.capacity(); offset += SLOT_BYTES) {
+				long id = slots.getLong(offset);
+				if (id == 0) {
+					continue;
+				}
+				int target = find(grown, newMask, id, mix(id));
+				grown.putLong(target, id);
+				grown.putLong(target + POINT_OFFSET, slots.getLong(offset + POINT_OFFSET));
+				grown.putLong(target + UPDATE_MILLIS_OFFSET, slots.getLong(offset + UPDATE_MILLIS_OFFSET));
+			}
+
+			// 이전 버퍼는 참조가 사라지면 GC가 해제한다.
+			slots = grown;
+			mask = newMask;
+		}
+
+		/**
+		 * id가 있는 슬롯, 없으면 id가 들어갈 빈 슬롯의 바이트 위치를 반환합니다. (선형 탐사)
+		 */
+		private static int find(ByteBuffer slots, int mask, long id, long h) {
+			int index = (int) h & mask;
+			while (true) {
+				int offset = index * SLOT_BYTES;
+				long key = slots.getLong(offset);
+				if (key == id || key == 0) {
+					return offset;
+				}
+				index = (index + 1) & mask;
+			}
+		}
+
+		private static ByteBuffer allocate(int slotCount) {
+			return ByteBuffer.allocateDirect(slotCount * SLOT_BYTES).order(ByteOrder.nativeOrder());
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+/**
+ * 압축으로 삭제되는 세그먼트의 포인트 내역을 모아 두는 추가 전용 파일입니다.
+ * 압축 한 번에 블록 하나를 열 단위로 이어 붙이며, 내역 한 건당 25바이트를 차지합니다.
+ *
+ * 블록: [int count][long userId x count][long amount x count][long updateMillis x count][byte type x count]
+ */
+final class PointHistoryArchive {
+
+	/**
+	 * 한 블록에 담을 내역을 모읍니다.
+	 */
+	static final class Block {
+		private long[] userIds = new long[1024];
+		private long[] amounts = new long[1024];
+		private long[] updateMillis = new long[1024];
+		private byte[] types = new byte[1024];
+		private int size;
+
+		void add(long userId, long amount, byte type, long millis) {
+			if (size == userIds.length) {
+				int capacity = size << 1;
+				userIds = Arrays.copyOf(userIds, capacity);
+				amounts = Arrays.copyOf(amounts, capacity);
+				updateMillis = Arrays.copyOf(updateMillis, capacity);
+				types = Arrays.copyOf(types, capacity);
+			}
+			userIds[size] = userId;
+			amounts[size] = amount;
+			updateMillis[size] = millis;
+			types[size] = type;
+			size++;
+		}
+
+		int size() {
+			return size;
+		}
+	}
+
+	private PointHistoryArchive() {}
+
+	/**
+	 * validBytes 뒤에 남은 내용(중단된 압축의 흔적)을 잘라 내고 블록을 이어 붙인 뒤, 디스크에 내린 파일 길이를 반환합니다.
+	 */
+	static long append(Path file, long validBytes, Block block) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.truncate(validBytes);
+			channel.position(validBytes);
+
+			if (block.size > 0) {
+				int n = block.size;
+				ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + n * (Long.BYTES * 3 + 1));
+				buffer.putInt(n);
+				for (int i = 0; i < n; i++) {
+					buffer.putLong(block.userIds[i]);
+				}
+				for (int i = 0; i < n; i++) {
+					buffer.putLong(block.amounts[i]);
+				}
+				for (int i = 0; i < n; i++) {
+					buffer.putLong(block.updateMillis[i]);
+				}
+				buffer.put(block.types, 0, n);
+				buffer.flip();
+
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+
+			channel.force(true);
+			return channel.position();
+		}
+	}
+
+	/**
+	 * 앞에서부터 validBytes까지 블록을 하나씩 읽기 전용으로 매핑하고, 회원별로 내역이 들어 있는 블록을 표시해 둡니다.
+	 * 내역은 여기서 읽지 않고, 회원별 내역을 처음 조회할 때 해당 블록에서만 꺼냅니다.
+	 */
+	static Index map(Path file, long validBytes) throws IOException {
+		if (validBytes == 0 || Files.notExists(file)) {
+			return Index.EMPTY;
+		}
+
+		List<MappedByteBuffer> blocks = new ArrayList<>();
+		List<Long> firstIds = new ArrayList<>();
+		Map<Long, BitSet> blocksByUser = new HashMap<>();
+		long count = 0;
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() < validBytes) {
+				throw new IOException("내역 보관 파일이 스냅샷에 기록된 길이보다 짧습니다. (" + file + ')');
+			}
+
+			ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+			long position = 0;
+			while (position < validBytes) {
+				header.clear();
+				while (header.hasRemaining()) {
+					if (channel.read(header, position + header.position()) < 0) {
+						throw new IOException("내역 보관 파일이 스냅샷에 기록된 길이보다 짧습니다. (" + file + ')');
+					}
+				}
+				int n = header.getInt(0);
+				long length = Integer.BYTES + (long) n * (Long.BYTES * 3 + 1);
+
+				// 매핑은 채널을 닫아도 유지된다.
+				MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+				int blockIndex = blocks.size();
+				for (int i = 0; i < n; i++) {
+					blocksByUser.computeIfAbsent(block.getLong(Integer.BYTES + i * Long.BYTES), k -> new BitSet()).set(blockIndex);
+				}
+
+				blocks.add(block);
+				firstIds.add(count + 1);
+				count += n;
+				position += length;
+			}
+		}
+
+		return new Index(blocks, firstIds.stream().mapToLong(Long::longValue).toArray(), blocksByUser, count);
+	}
+
+	/**
+	 * 매핑한 보관 파일의 블록과 회원별 블록 위치입니다.
+	 * 내역의 id는 보관 파일에 들어간 순서대로 1부터 매기며, 예전에 테이블에 다시 넣어 받던 id와 같습니다.
+	 */
+	static final class Index {
+		static final Index EMPTY = new Index(List.of(), new long[0], Map.of(), 0);
+
+		private final List<MappedByteBuffer> blocks;
+		private final long[] firstIds;
+		private final Map<Long, BitSet> blocksByUser;
+		private final long size;
+
+		private Index(List<MappedByteBuffer> blocks, long[] firstIds, Map<Long, BitSet> blocksByUser, long size) {
+			this.blocks = blocks;
+			this.firstIds = firstIds;
+			this.blocksByUser = blocksByUser;
+			this.size = size;
+		}
+
+		long size() {
+			return size;
+		}
+
+		/**
+		 * 회원의 내역이 들어 있는 블록만 훑어 id 순으로 반환합니다. 절대 위치로만 읽으므로 여러 스레드가 함께 불러도 됩니다.
+		 */
+		List<PointHistory> historiesOf(long userId) {
+			BitSet userBlocks = blocksByUser.get(userId);
+			if (userBlocks == null) {
+				return List.of();
+			}
+
+			TransactionType[] values = TransactionType.values();
+			List<PointHistory> histories = new ArrayList<>();
+			for (int b = userBlocks.nextSetBit(0); b >= 0; b = userBlocks.nextSetBit(b + 1)) {
+				MappedByteBuffer block = blocks.get(b);
+				int n = block.getInt(0);
+				int amounts = Integer.BYTES + n * Long.BYTES;
+				int updateMillis = amounts + n * Long.BYTES;
+				int types = updateMillis + n * Long.BYTES;
+				for (int i = 0; i < n; i++) {
+					if (block.getLong(Integer.BYTES + i * Long.BYTES) != userId) {
+						continue;
+					}
+					histories.add(new PointHistory(firstIds[b] + i, userId, block.getLong(amounts + i * Long.BYTES),
+						values[block.get(types + i)], block.getLong(updateMillis + i * Long.BYTES)));
+				}
+			}
+			return histories;
+		}
+	}
+}
@@ -2,12 +2,22 @@ package io.hhplus.tdd.point.infrastructure;
 
 import java.util.List;
 
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
 import io.hhplus.tdd.common.pagination.PageRequest;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
 
 public interface PointHistoryRepository {
 
 	List<PointHistory> findAllByUserId(long userId, PageRequest pageRequest);
 
+	CursorPage<PointHistory> findAllByUserId(long userId, CursorRequest cursorRequest);
+
     PointHistory save(PointHistory pointHistory);
+
+	/**
+	 * 회원의 [fromMillis, toMillis) 기간 충전/사용 금액 합계를 저장할 때마다 갱신해 둔 집계에서 구합니다.
+	 */
+	PointSummary summarize(long userId, long fromMillis, long toMillis);
 }
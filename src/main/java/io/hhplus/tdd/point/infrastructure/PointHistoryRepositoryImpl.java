@@ -1,7 +1,16 @@
 package io.hhplus.tdd.point.infrastructure;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
 import io.hhplus.tdd.common.pagination.PageRequest;
 import io.hhplus.tdd.common.pagination.PaginationManager;
 import io.hhplus.tdd.point.domain.TransactionType;
@@ -9,6 +18,7 @@ import org.springframework.stereotype.Repository;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
 import lombok.RequiredArgsConstructor;
 
 @Repository
@@ -16,21 +26,266 @@ import lombok.RequiredArgsConstructor;
 public class PointHistoryRepositoryImpl implements PointHistoryRepository {
 
 	private final PointHistoryTable pointHistoryTable;
+	private final PointMetrics pointMetrics;
+	private final PointLog pointLog;
+
+	/**
+	 * 회원별 포인트 내역 인덱스. 테이블 전체를 매번 훑지 않도록 회원별 내역을 id 순으로 보관합니다.
+	 * 처음 접근하는 회원은 로그에서 복구된 내역과 테이블의 내역을 한 번 읽어 채우고, 이후에는 저장할 때마다 이어 붙입니다.
+	 */
+	private final ConcurrentHashMap<Long, UserHistories> index = new ConcurrentHashMap<>();
 
 	@Override
 	public List<PointHistory> findAllByUserId(long userId, PageRequest pageRequest) {
-        List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
+		return historiesOf(userId).page(pageRequest);
+	}
+
+	@Override
+	public CursorPage<PointHistory> findAllByUserId(long userId, CursorRequest cursorRequest) {
+		return historiesOf(userId).seek(cursorRequest);
+	}
 
-        return PaginationManager.paging(pointHistories, pageRequest);
+	@Override
+	public PointSummary summarize(long userId, long fromMillis, long toMillis) {
+		return historiesOf(userId).summarize(fromMillis, toMillis);
 	}
 
     @Override
     public PointHistory save(PointHistory pointHistory) {
-        long userId = pointHistory.userId();
-        long amount = pointHistory.amount();
-        TransactionType type = pointHistory.type();
-        long updateMillis = pointHistory.updateMillis();
+        PointHistory saved = insert(pointHistory);
+        historiesOf(saved.userId()).append(saved);
 
-        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        return saved;
     }
+
+	/**
+	 * 테이블에 쓰기 전의 내역을 대기 상태로 인덱스에 올립니다. 대기 중인 내역은 오프셋 조회 결과의 맨 뒤에 id 없이 포함됩니다.
+	 */
+	PendingHistory stage(PointHistory pointHistory) {
+		PendingHistory pending = new PendingHistory(pointHistory);
+		historiesOf(pointHistory.userId()).stage(pending);
+
+		return pending;
+	}
+
+	/**
+	 * 대기 중인 내역을 로그에 기록합니다. 기록에 실패하면 인덱스에서 내리고 예외를 던지며, 그 내역은 테이블에 쓰지 않습니다.
+	 */
+	void log(PendingHistory pending) {
+		try {
+			pointLog.appendPointHistory(pending.pointHistory);
+		} catch (RuntimeException e) {
+			pending.logged.complete(false);
+			discard(pending);
+			throw e;
+		}
+		pending.logged.complete(true);
+	}
+
+	/**
+	 * 로그 기록이 끝나기를 기다린 뒤 대기 중인 내역을 테이블에 쓰고, 인덱스에서 대기 상태를 저장된 내역으로 한 번에 바꿉니다.
+	 * 이미 로그에 남긴 내역이므로 다시 로그에 쓰지 않습니다. 로그 기록에 실패한 내역이면 쓰지 않고 null을 반환합니다.
+	 */
+	PointHistory flush(PendingHistory pending) {
+		if (!pending.logged.join()) {
+			return null;
+		}
+
+		PointHistory saved = insertTable(pending.pointHistory);
+		historiesOf(saved.userId()).promote(pending, saved);
+
+		return saved;
+	}
+
+	void discard(PendingHistory pending) {
+		historiesOf(pending.pointHistory.userId()).discard(pending);
+	}
+
+	private PointHistory insert(PointHistory pointHistory) {
+		pointLog.appendPointHistory(pointHistory);
+		return insertTable(pointHistory);
+	}
+
+	private PointHistory insertTable(PointHistory pointHistory) {
+		long userId = pointHistory.userId();
+		long amount = pointHistory.amount();
+		TransactionType type = pointHistory.type();
+		long updateMillis = pointHistory.updateMillis();
+
+		PointHistory saved = pointMetrics.recordTableCall("point_history", "insert", () -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+		return afterRecovered(saved, pointLog.recoveredHistoryCount());
+	}
+
+	private UserHistories historiesOf(long userId) {
+		return index.computeIfAbsent(userId, k -> new UserHistories(k, pointHistoryTable, pointMetrics, pointLog));
+	}
+
+	/**
+	 * 테이블은 재시작하면 id를 1부터 다시 매기므로, 로그에서 복구된 내역 수만큼 뒤로 밀어 id가 겹치지 않게 합니다.
+	 */
+	private static PointHistory afterRecovered(PointHistory pointHistory, long recovered) {
+		if (recovered == 0) {
+			return pointHistory;
+		}
+		return new PointHistory(pointHistory.id() + recovered, pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+	}
+
+	static final class PendingHistory {
+		private final PointHistory pointHistory;
+		/** 로그 기록 결과. 작성기는 로그에 남은 내역만 테이블에 쓴다. */
+		private final CompletableFuture<Boolean> logged = new CompletableFuture<>();
+
+		private PendingHistory(PointHistory pointHistory) {
+			this.pointHistory = pointHistory;
+		}
+
+		long userId() {
+			return pointHistory.userId();
+		}
+	}
+
+	private static class UserHistories {
+		private final long userId;
+		private final PointHistoryTable pointHistoryTable;
+		private final PointMetrics pointMetrics;
+		private final PointLog pointLog;
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final List<PointHistory> rows = new ArrayList<>();
+		private final Deque<PendingHistory> pendings = new ArrayDeque<>();
+		private final PointHistoryRollup rollup = new PointHistoryRollup();
+		private boolean loaded;
+
+		private UserHistories(long userId, PointHistoryTable pointHistoryTable, PointMetrics pointMetrics, PointLog pointLog) {
+			this.userId = userId;
+			this.pointHistoryTable = pointHistoryTable;
+			this.pointMetrics = pointMetrics;
+			this.pointLog = pointLog;
+		}
+
+		private List<PointHistory> page(PageRequest pageRequest) {
+			lock.lock();
+			try {
+				loadIfAbsent();
+				if (pendings.isEmpty()) {
+					return List.copyOf(PaginationManager.paging(rows, pageRequest));
+				}
+
+				// 저장된 내역 뒤에 대기 중인 내역을 이어 붙인 순서로 페이지를 자른다.
+				List<PointHistory> page = new ArrayList<>(PaginationManager.paging(rows, pageRequest));
+				int skip = Math.max(0, pageRequest.offset() - rows.size());
+				for (PendingHistory pending : pendings) {
+					if (page.size() >= pageRequest.size()) {
+						break;
+					}
+					if (skip > 0) {
+						skip--;
+						continue;
+					}
+					page.add(pending.pointHistory);
+				}
+				return List.copyOf(page);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * 대기 중인 내역은 id가 없어 커서 위치를 정할 수 없으므로 저장된 내역만 조회합니다.
+		 * 대기 내역은 저장되면서 기존보다 큰 id를 받으므로, 이후 커서 조회에서 빠짐없이 이어집니다.
+		 */
+		private CursorPage<PointHistory> seek(CursorRequest cursorRequest) {
+			lock.lock();
+			try {
+				loadIfAbsent();
+				return PaginationManager.seek(rows, cursorRequest, PointHistory::id);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * 대기 중인 내역은 아직 기록되지 않았으므로 합계에 포함하지 않습니다.
+		 */
+		private PointSummary summarize(long fromMillis, long toMillis) {
+			lock.lock();
+			try {
+				loadIfAbsent();
+				return rollup.summarize(userId, fromMillis, toMillis);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void append(PointHistory pointHistory) {
+			lock.lock();
+			try {
+				// 처음 불러올 때는 테이블에 이미 들어간 내역까지 함께 읽힌다.
+				if (!loaded) {
+					loadIfAbsent();
+					return;
+				}
+				insertInOrder(pointHistory);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void stage(PendingHistory pending) {
+			lock.lock();
+			try {
+				loadIfAbsent();
+				pendings.addLast(pending);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void promote(PendingHistory pending, PointHistory saved) {
+			lock.lock();
+			try {
+				pendings.remove(pending);
+				insertInOrder(saved);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void discard(PendingHistory pending) {
+			lock.lock();
+			try {
+				pendings.remove(pending);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void loadIfAbsent() {
+			if (loaded) {
+				return;
+			}
+			// 복구된 내역이 테이블에 새로 들어간 내역보다 항상 앞선 id를 가진다.
+			long recovered = pointLog.recoveredHistoryCount();
+			rows.addAll(pointLog.recoveredHistories(userId));
+			pointMetrics.recordTableCall("point_history", "selectAllByUserId", () -> pointHistoryTable.selectAllByUserId(userId))
+				.forEach(row -> rows.add(afterRecovered(row, recovered)));
+			rows.forEach(rollup::add);
+			loaded = true;
+		}
+
+		/**
+		 * 대부분 맨 뒤에 붙지만, 동시에 저장된 내역이 뒤바뀌어 도착해도 id 순서를 유지하고 중복은 무시합니다.
+		 */
+		private void insertInOrder(PointHistory pointHistory) {
+			int position = rows.size();
+			while (position > 0 && rows.get(position - 1).id() >= pointHistory.id()) {
+				if (rows.get(position - 1).id() == pointHistory.id()) {
+					return;
+				}
+				position--;
+			}
+			rows.add(position, pointHistory);
+			rollup.add(pointHistory);
+		}
+	}
 }
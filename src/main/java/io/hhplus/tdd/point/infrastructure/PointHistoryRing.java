@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 스레드가 락 없이 포인트 내역을 넣고, 작성기 스레드 하나가 꺼내 PointHistoryRepository에 기록하는 고정 크기 링 버퍼입니다. (lockfree 프로필)
+ * - 생산자는 CAS로 자리(순번)를 먼저 예약한 뒤 내역을 채웁니다. 잔액을 바꾸기 전에 예약하므로, 링이 가득 차면 잔액을 건드리지 않고 실패할 수 있습니다.
+ * - 예약한 뒤 잔액 반영에 실패하면 자리를 건너뛰기 표시로 채워, 작성기가 그 자리에서 멈추지 않도록 합니다.
+ * - 작성기는 예약 순서대로 기록하므로, 조회에는 작성기가 기록한 뒤부터 보입니다.
+ * - 기록이 실패하면 기록될 때까지 간격을 늘려 가며(최대 1초) 다시 시도하고, 내역을 버리지 않습니다.
+ */
+@Slf4j
+@Component
+@Profile("lockfree")
+public class PointHistoryRing {
+
+	private static final long RETRY_BACKOFF_MILLIS = 100L;
+	private static final long MAX_RETRY_BACKOFF_MILLIS = 1_000L;
+	private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	/** 잔액 반영에 실패해 기록하지 않을 자리 */
+	private static final PointHistory SKIPPED = new PointHistory(0, 0, 0, TransactionType.CHARGE, 0);
+
+	private final PointHistoryRepository pointHistoryRepository;
+
+	private final AtomicReferenceArray<PointHistory> slots;
+	private final int mask;
+
+	/** 생산자가 다음에 예약할 순번 */
+	private final AtomicLong tail = new AtomicLong();
+	/** 작성기가 다음에 꺼낼 순번. 작성기만 쓴다. */
+	private volatile long head;
+
+	private final Thread writer;
+	private volatile boolean running = true;
+
+	public PointHistoryRing(
+		PointHistoryRepository pointHistoryRepository,
+		@Value("${point.lockfree.history-ring-capacity:65536}") int capacity
+	) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity 값은 1 이상이어야 합니다.");
+		}
+
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+
+		this.pointHistoryRepository = pointHistoryRepository;
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+
+		this.writer = new Thread(this::drain, "point-history-ring-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * 내역을 넣을 자리를 예약하고 순번을 반환합니다. 링이 가득 찼거나 종료 중이면 -1을 반환합니다.
+	 * 예약한 자리는 반드시 publish 또는 skip으로 채워야 합니다.
+	 */
+	public long claim() {
+		while (running) {
+			long sequence = tail.get();
+			if (sequence - head > mask) {
+				return -1;
+			}
+			if (tail.compareAndSet(sequence, sequence + 1)) {
+				return sequence;
+			}
+			Thread.onSpinWait();
+		}
+		return -1;
+	}
+
+	public void publish(long sequence, PointHistory pointHistory) {
+		slots.setRelease(index(sequence), pointHistory);
+	}
+
+	public void skip(long sequence) {
+		slots.setRelease(index(sequence), SKIPPED);
+	}
+
+	/**
+	 * 예약됐지만 아직 기록되지 않은 내역 수입니다.
+	 */
+	public long queuedCount() {
+		return tail.get() - head;
+	}
+
+	private int index(long sequence) {
+		return (int) sequence & mask;
+	}
+
+	private void drain() {
+		long next = head;
+		while (running || next < tail.get()) {
+			int index = index(next);
+			PointHistory pointHistory = slots.getAcquire(index);
+			if (pointHistory == null) {
+				// 비어 있거나, 예약한 생산자가 아직 채우는 중이다.
+				LockSupport.parkNanos(IDLE_PARK_NANOS);
+				continue;
+			}
+
+			slots.setRelease(index, null);
+			head = ++next;
+
+			if (pointHistory != SKIPPED) {
+				flush(pointHistory);
+			}
+		}
+	}
+
+	/**
+	 * 잔액은 이미 반영됐으므로 내역을 버리지 않고 기록될 때까지 다시 시도합니다.
+	 * 그동안 뒤의 내역은 링에 쌓이고, 링이 가득 차면 새 예약이 거절되어 잔액 변경도 멈춥니다.
+	 */
+	private void flush(PointHistory pointHistory) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				pointHistoryRepository.save(pointHistory);
+				return;
+			} catch (Exception e) {
+				log.warn("PointHistory 기록에 실패했습니다. 다시 시도합니다. (회원: {}, 시도: {})", pointHistory.userId(), attempt, e);
+			}
+
+			try {
+				TimeUnit.MILLISECONDS.sleep(Math.min(RETRY_BACKOFF_MILLIS * attempt, MAX_RETRY_BACKOFF_MILLIS));
+			} catch (InterruptedException ignored) {
+
+			}
+		}
+	}
+
+	/**
+	 * 새 예약을 막고, 이미 예약된 내역을 모두 기록할 때까지 기다립니다.
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		writer.join(TimeUnit.SECONDS.toMillis(30));
+	}
+}
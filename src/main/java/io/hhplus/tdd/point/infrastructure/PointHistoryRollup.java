@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.util.Arrays;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+/**
+ * 한 회원의 충전/사용 금액을 시간 버킷(기본 1분)으로 모아, 기간 합계를 내역을 훑지 않고 O(log n)에 구합니다.
+ * - 내역이 있는 버킷만 시각 순으로 두고, 그 위에 충전/사용 금액의 펜윅 트리(Binary Indexed Tree)를 둡니다.
+ * - 내역은 대부분 마지막 버킷이나 그 뒤에 붙으므로 O(log n)에 반영됩니다. 지난 시각의 새 버킷이 끼어들 때만 O(n)으로 다시 만듭니다.
+ * - 기간은 버킷 경계로 넓혀 계산합니다. (from은 내림, to는 올림)
+ * 동기화하지 않으므로 회원 락 안에서만 사용해야 합니다.
+ */
+final class PointHistoryRollup {
+
+	static final long BUCKET_MILLIS = 60_000L;
+
+	private final long bucketMillis;
+
+	/** 버킷 번호(updateMillis / bucketMillis), 오름차순 */
+	private long[] buckets = new long[8];
+	/** 1부터 시작하는 펜윅 트리 */
+	private long[] charges = new long[9];
+	private long[] uses = new long[9];
+	private int size;
+
+	PointHistoryRollup() {
+		this(BUCKET_MILLIS);
+	}
+
+	/**
+	 * 버킷이 넓을수록 버킷 수(메모리)가 줄고, 합계 기간이 더 넓게 맞춰집니다.
+	 */
+	PointHistoryRollup(long bucketMillis) {
+		if (bucketMillis < 1) {
+			throw new IllegalArgumentException("bucketMillis 값은 1 이상이어야 합니다.");
+		}
+		this.bucketMillis = bucketMillis;
+	}
+
+	void add(PointHistory pointHistory) {
+		long bucket = Math.floorDiv(pointHistory.updateMillis(), bucketMillis);
+		long charge = pointHistory.type() == TransactionType.CHARGE ? pointHistory.amount() : 0L;
+		long use = pointHistory.type() == TransactionType.USE ? pointHistory.amount() : 0L;
+
+		if (size == 0 || buckets[size - 1] < bucket) {
+			append(bucket, charge, use);
+			return;
+		}
+
+		int position = Arrays.binarySearch(buckets, 0, size, bucket);
+		if (position >= 0) {
+			for (int i = position + 1; i <= size; i += i & -i) {
+				charges[i] += charge;
+				uses[i] += use;
+			}
+			return;
+		}
+
+		insert(-position - 1, bucket, charge, use);
+	}
+
+	PointSummary summarize(long userId, long fromMillis, long toMillis) {
+		long fromBucket = Math.floorDiv(fromMillis, bucketMillis);
+		long toBucket = Math.ceilDiv(toMillis, bucketMillis);
+
+		int low = lowerBound(fromBucket);
+		int high = lowerBound(toBucket);
+
+		return new PointSummary(
+			userId,
+			fromBucket * bucketMillis,
+			toBucket > Long.MAX_VALUE / bucketMillis ? Long.MAX_VALUE : toBucket * bucketMillis,
+			prefix(charges, high) - prefix(charges, low),
+			prefix(uses, high) - prefix(uses, low)
+		);
+	}
+
+	/**
+	 * 버킷 번호와 두 펜윅 트리 배열이 차지하는 메모리 (배열 헤더 제외)
+	 */
+	long bytes() {
+		return (long) (buckets.length + charges.length + uses.length) * Long.BYTES;
+	}
+
+	/**
+	 * 새 노드 i는 (i - lowbit(i), i] 구간의 합을 담으므로, 새 값에 기존 노드들의 그 구간 합을 더해 채웁니다.
+	 */
+	private void append(long bucket, long charge, long use) {
+		ensureCapacity(size + 1);
+		buckets[size] = bucket;
+
+		int i = ++size;
+		int start = i - (i & -i);
+		charges[i] = charge + prefix(charges, i - 1) - prefix(charges, start);
+		uses[i] = use + prefix(uses, i - 1) - prefix(uses, start);
+	}
+
+	private void insert(int position, long bucket, long charge, long use) {
+		ensureCapacity(size + 1);
+		toValues(charges);
+		toValues(uses);
+
+		System.arraycopy(buckets, position, buckets, position + 1, size - position);
+		System.arraycopy(charges, position + 1, charges, position + 2, size - position);
+		System.arraycopy(uses, position + 1, uses, position + 2, size - position);
+		buckets[position] = bucket;
+		charges[position + 1] = charge;
+		uses[position + 1] = use;
+		size++;
+
+		toTree(charges);
+		toTree(uses);
+	}
+
+	/** 버킷별 값으로 트리를 O(n)에 만든다. */
+	private void toTree(long[] tree) {
+		for (int i = 1; i <= size; i++) {
+			int parent = i + (i & -i);
+			if (parent <= size) {
+				tree[parent] += tree[i];
+			}
+		}
+	}
+
+	/** toTree의 역순으로 트리를 버킷별 값으로 되돌린다. */
+	private void toValues(long[] tree) {
+		for (int i = size; i >= 1; i--) {
+			int parent = i + (i & -i);
+			if (parent <= size) {
+				tree[parent] -= tree[i];
+			}
+		}
+	}
+
+	private static long prefix(long[] tree, int count) {
+		long sum = 0;
+		for (int i = count; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	/** bucket 이상인 첫 버킷의 위치 (= bucket 미만인 버킷 수) */
+	private int lowerBound(long bucket) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (buckets[mid] < bucket) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= buckets.length) {
+			return;
+		}
+
+		int grown = Math.max(capacity, buckets.length + (buckets.length >> 1));
+		buckets = Arrays.copyOf(buckets, grown);
+		charges = Arrays.copyOf(charges, grown + 1);
+		uses = Arrays.copyOf(uses, grown + 1);
+	}
+}
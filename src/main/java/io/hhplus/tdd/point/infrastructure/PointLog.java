@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.util.List;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+
+/**
+ * 테이블에 반영하기 전에 변경 내용을 먼저 기록하는 write-ahead log 입니다.
+ * 각 메서드는 기록이 디스크에 내려간 뒤에 반환되며, 기록에 실패하면 테이블에 반영하지 않도록 예외를 던집니다.
+ */
+public interface PointLog {
+
+	void appendUserPoint(long id, long point);
+
+	void appendPointHistory(PointHistory pointHistory);
+
+	/**
+	 * 복구하면서 테이블에 다시 넣지 않고 로그에 남겨 둔 포인트 내역 수입니다.
+	 * 테이블이 새로 매기는 id는 이 수만큼 뒤로 밀어 복구된 내역의 id와 겹치지 않게 합니다.
+	 */
+	default long recoveredHistoryCount() {
+		return 0;
+	}
+
+	/**
+	 * 복구된 회원의 포인트 내역을 id 순으로 반환합니다. 회원별 내역을 처음 조회할 때 한 번만 불립니다.
+	 */
+	default List<PointHistory> recoveredHistories(long userId) {
+		return List.of();
+	}
+}
@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.CRC32C;
+
+/**
+ * 특정 세그먼트까지 반영된 전체 회원 잔액의 스냅샷입니다.
+ * 회원 id 열과 잔액 열을 각각 이어서 쓰는 열 단위 바이너리 형식이며, 회원 한 명당 16바이트를 차지합니다.
+ *
+ * [int magic][int version][long coveredSegment][long archiveBytes][int userCount]
+ * [long id x userCount][long point x userCount][int crc32c]
+ */
+final class PointSnapshot {
+
+	private static final int MAGIC = 0x50535350; // "PSSP"
+	private static final int VERSION = 1;
+
+	/** 이 번호 이하의 세그먼트는 스냅샷과 내역 보관 파일에 모두 반영되어 있다. */
+	private final long coveredSegment;
+	/** 이 스냅샷이 유효하다고 보장하는 내역 보관 파일의 길이. 그 뒤는 중단된 압축이 남긴 것이므로 버린다. */
+	private final long archiveBytes;
+	private final long[] ids;
+	private final long[] points;
+
+	PointSnapshot(long coveredSegment, long archiveBytes, long[] ids, long[] points) {
+		this.coveredSegment = coveredSegment;
+		this.archiveBytes = archiveBytes;
+		this.ids = ids;
+		this.points = points;
+	}
+
+	static PointSnapshot of(long coveredSegment, long archiveBytes, Map<Long, Long> balances) {
+		long[] ids = new long[balances.size()];
+		long[] points = new long[balances.size()];
+
+		int i = 0;
+		for (Map.Entry<Long, Long> balance : balances.entrySet()) {
+			ids[i] = balance.getKey();
+			points[i] = balance.getValue();
+			i++;
+		}
+
+		return new PointSnapshot(coveredSegment, archiveBytes, ids, points);
+	}
+
+	long coveredSegment() {
+		return coveredSegment;
+	}
+
+	long archiveBytes() {
+		return archiveBytes;
+	}
+
+	int userCount() {
+		return ids.length;
+	}
+
+	void putAllTo(Map<Long, Long> balances) {
+		for (int i = 0; i < ids.length; i++) {
+			balances.put(ids[i], points[i]);
+		}
+	}
+
+	/**
+	 * 임시 파일에 끝까지 쓰고 디스크에 내린 뒤 이름을 바꾸므로, 중간에 멈춰도 이전 스냅샷이 그대로 남습니다.
+	 * 반환되면 바뀐 이름까지 디스크에 내려가 있으므로, 스냅샷에 반영된 세그먼트를 지워도 됩니다.
+	 */
+	void write(Path file) throws IOException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+		CRC32C crc = new CRC32C();
+		try (OutputStream raw = Files.newOutputStream(temp);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(raw, crc), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(coveredSegment);
+			out.writeLong(archiveBytes);
+			out.writeInt(ids.length);
+			for (long id : ids) {
+				out.writeLong(id);
+			}
+			for (long point : points) {
+				out.writeLong(point);
+			}
+			out.flush();
+			// 체크섬은 체크섬 자신을 포함하지 않도록 원본 스트림에 직접 쓴다.
+			new DataOutputStream(raw).writeInt((int) crc.getValue());
+		}
+
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			channel.force(true);
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		// 이름 바꾸기는 디렉터리 항목의 변경이므로, 디렉터리까지 디스크에 내려야 이후 세그먼트를 지워도 안전하다.
+		try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+			directory.force(true);
+		}
+	}
+
+	/**
+	 * 스냅샷이 없으면 null을 반환합니다. 형식이나 체크섬이 맞지 않으면 IOException이 발생합니다.
+	 */
+	static PointSnapshot read(Path file) throws IOException {
+		if (Files.notExists(file)) {
+			return null;
+		}
+
+		CRC32C crc = new CRC32C();
+		try (BufferedInputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+			DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc));
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("스냅샷 형식이 올바르지 않습니다. (" + file + ')');
+			}
+
+			long coveredSegment = in.readLong();
+			long archiveBytes = in.readLong();
+			int userCount = in.readInt();
+
+			long[] ids = new long[userCount];
+			long[] points = new long[userCount];
+			for (int i = 0; i < userCount; i++) {
+				ids[i] = in.readLong();
+			}
+			for (int i = 0; i < userCount; i++) {
+				points[i] = in.readLong();
+			}
+
+			int expected = (int) crc.getValue();
+			if (new DataInputStream(raw).readInt() != expected) {
+				throw new IOException("스냅샷 체크섬이 맞지 않습니다. (" + file + ')');
+			}
+
+			return new PointSnapshot(coveredSegment, archiveBytes, ids, points);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 저장소의 조회 시점 상태를 읽어 오는 게이지와 누적 카운터를 등록합니다.
+ * 캐시, 내역 작성기, 내역 링 버퍼, 오프힙 저장소는 설정/프로필로 꺼져 있을 수 있으므로 빈이 있을 때만 등록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointStoreMeterBinder implements MeterBinder {
+
+	private final ObjectProvider<CachingUserPointRepository> cachingUserPointRepository;
+	private final ObjectProvider<WriteBehindPointHistoryRepository> writeBehindPointHistoryRepository;
+	private final ObjectProvider<OffHeapUserPointRepository> offHeapUserPointRepository;
+	private final ObjectProvider<PointHistoryRing> pointHistoryRing;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		cachingUserPointRepository.ifAvailable(cache -> {
+			FunctionCounter.builder("point.cache.requests", cache, c -> c.stats().hits())
+				.tag("result", "hit")
+				.register(registry);
+			FunctionCounter.builder("point.cache.requests", cache, c -> c.stats().misses())
+				.tag("result", "miss")
+				.register(registry);
+			FunctionCounter.builder("point.cache.evictions", cache, c -> c.stats().evictions())
+				.register(registry);
+			Gauge.builder("point.cache.size", cache, c -> c.stats().size())
+				.register(registry);
+		});
+
+		writeBehindPointHistoryRepository.ifAvailable(writer ->
+			Gauge.builder("point.history.write-behind.queued", writer, WriteBehindPointHistoryRepository::queuedCount)
+				.register(registry)
+		);
+
+		pointHistoryRing.ifAvailable(ring ->
+			Gauge.builder("point.history.ring.queued", ring, PointHistoryRing::queuedCount)
+				.register(registry)
+		);
+
+		offHeapUserPointRepository.ifAvailable(store -> {
+			Gauge.builder("point.offheap.users", store, s -> s.footprint().users())
+				.register(registry);
+			Gauge.builder("point.offheap.bytes", store, s -> s.footprint().offHeapBytes())
+				.baseUnit("bytes")
+				.register(registry);
+			Gauge.builder("point.offheap.bytes.per.million.users", store, s -> s.footprint().bytesPerMillionUsers())
+				.baseUnit("bytes")
+				.register(registry);
+		});
+	}
+}
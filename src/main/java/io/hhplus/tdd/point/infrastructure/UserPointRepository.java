@@ -1,10 +1,33 @@
 package io.hhplus.tdd.point.infrastructure;
 
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
 
 public interface UserPointRepository {
 
     UserPoint findById(long id);
 
     UserPoint save(UserPoint userPoint);
+
+    /**
+     * 잔액과 현재 저장 버전을 함께 조회합니다. 저장 버전은 save/compareAndSave가 반영될 때마다 커집니다.
+     */
+    VersionedUserPoint findVersionedById(long id);
+
+    /**
+     * 저장 버전이 expectedVersion과 같을 때만 저장합니다. 그 사이 다른 저장이 있었다면 저장하지 않고 빈 값을 반환합니다.
+     */
+    Optional<UserPoint> compareAndSave(UserPoint userPoint, long expectedVersion);
+
+    /**
+     * 같은 회원의 조회-계산-저장을 한 구간으로 실행합니다. 같은 회원의 writeLocked 구간끼리는 차례로 실행됩니다.
+     * 구간이 끝날 때까지 그 회원의 compareAndSave는 기다리지 않고 실패하므로, 락 없이 저장하는 낙관적 갱신이 끼어들어 유실되지 않습니다.
+     * 원자적 셀 저장소처럼 잔액을 CAS로만 바꾸고 이 구간을 쓰지 않는 저장소는 action을 그대로 실행합니다.
+     */
+    default <T> T writeLocked(long id, Supplier<T> action) {
+        return action.get();
+    }
 }
@@ -1,7 +1,15 @@
 package io.hhplus.tdd.point.infrastructure;
 
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.hhplus.tdd.common.metrics.PointMetrics;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Repository;
@@ -11,17 +19,148 @@ import org.springframework.stereotype.Repository;
 public class UserPointRepositoryImpl implements UserPointRepository {
 
 	private final UserPointTable userPointTable;
+	private final PointMetrics pointMetrics;
+	private final PointLog pointLog;
+
+	/** 쉬고 있는 회원의 버전 항목을 이 수까지는 남겨 둬, 다시 읽을 때 테이블을 거치지 않도록 한다. */
+	private static final int MAX_IDLE_VERSIONS = 10_000;
+
+	/**
+	 * 회원별 저장 버전. 테이블에는 버전을 둘 수 없으므로 저장소에서 관리합니다.
+	 * - 저장을 시작할 때 홀수, 끝낼 때 짝수로 바꿔, 홀수인 동안은 테이블에 쓰는 중임을 나타냅니다. (seqlock)
+	 * - 버전 값은 모든 회원이 함께 쓰는 시계에서 받으므로 항상 커집니다. 쉬고 있는 항목을 지웠다가 다시 만들어도 예전 버전과 겹치지 않습니다.
+	 * - 항목은 사용 중인 회원과 최근 회원(MAX_IDLE_VERSIONS)만 남기므로 회원 수만큼 늘어나지 않습니다.
+	 */
+	private final ConcurrentHashMap<Long, Version> versions = new ConcurrentHashMap<>();
+	private final AtomicLong clock = new AtomicLong();
 
 	@Override
 	public UserPoint findById(long id) {
-		return userPointTable.selectById(id);
+		return pointMetrics.recordTableCall("user_point", "selectById", () -> userPointTable.selectById(id));
+	}
+
+	@Override
+	public UserPoint save(UserPoint userPoint) {
+		return writeLocked(userPoint.id(), () -> write(userPoint, versions.get(userPoint.id())));
+	}
+
+	/**
+	 * 마지막으로 쓴(또는 읽은) 잔액을 버전과 함께 보관하므로, 충돌 뒤 다시 읽을 때는 테이블을 거치지 않습니다.
+	 * 조회 전후의 버전이 같고 짝수이면 그 사이 저장이 없었으므로 읽은 잔액과 버전이 짝이 맞습니다.
+	 * 저장 중이었다면 저장이 끝나기를 기다려 락 안에서 다시 읽습니다.
+	 */
+	@Override
+	public VersionedUserPoint findVersionedById(long id) {
+		Version version = acquire(id);
+		try {
+			long before = version.sequence;
+			if ((before & 1) == 0) {
+				UserPoint userPoint = version.userPoint;
+				if (userPoint == null) {
+					userPoint = findById(id);
+				}
+				if (version.sequence == before) {
+					return new VersionedUserPoint(userPoint, before);
+				}
+			}
+
+			version.lock.lock();
+			try {
+				if (version.userPoint == null) {
+					version.userPoint = findById(id);
+				}
+				return new VersionedUserPoint(version.userPoint, version.sequence);
+			} finally {
+				version.lock.unlock();
+			}
+		} finally {
+			release(id);
+		}
+	}
+
+	@Override
+	public Optional<UserPoint> compareAndSave(UserPoint userPoint, long expectedVersion) {
+		long id = userPoint.id();
+		Version version = acquire(id);
+		try {
+			// 다른 저장이나 writeLocked 구간이 진행 중이면 버전이 바뀔 것이므로 기다리지 않고 실패한다.
+			if (!version.lock.tryLock()) {
+				return Optional.empty();
+			}
+			try {
+				if (version.sequence != expectedVersion) {
+					return Optional.empty();
+				}
+				return Optional.of(write(userPoint, version));
+			} finally {
+				version.lock.unlock();
+			}
+		} finally {
+			release(id);
+		}
+	}
+
+	@Override
+	public <T> T writeLocked(long id, Supplier<T> action) {
+		Version version = acquire(id);
+		try {
+			version.lock.lock();
+			try {
+				return action.get();
+			} finally {
+				version.lock.unlock();
+			}
+		} finally {
+			release(id);
+		}
+	}
+
+	private UserPoint write(UserPoint userPoint, Version version) {
+		long id = userPoint.id();
+		long amount = userPoint.point();
+
+		version.sequence = clock.addAndGet(2) - 1;
+		UserPoint saved = null;
+		try {
+			pointLog.appendUserPoint(id, amount);
+			saved = pointMetrics.recordTableCall("user_point", "insertOrUpdate", () -> userPointTable.insertOrUpdate(id, amount));
+			return saved;
+		} finally {
+			// 실패했다면 테이블 반영 여부를 알 수 없으므로 보관한 잔액을 버린다.
+			version.userPoint = saved;
+			version.sequence = clock.addAndGet(2);
+		}
+	}
+
+	private Version acquire(long id) {
+		return versions.compute(id, (k, v) -> {
+			if (v == null) {
+				v = new Version(clock.addAndGet(2));
+			}
+			v.ref++;
+			return v;
+		});
 	}
 
-    @Override
-    public UserPoint save(UserPoint userPoint) {
-        long id = userPoint.id();
-        long amount = userPoint.point();
+	private void release(long id) {
+		versions.computeIfPresent(id, (k, v) -> {
+			v.ref--;
+			boolean idle = v.ref == 0 && !v.lock.isLocked();
+			return idle && versions.size() > MAX_IDLE_VERSIONS ? null : v;
+		});
+	}
+
+	private static final class Version {
+		private final ReentrantLock lock = new ReentrantLock();
+		/** 짝수면 보관한 잔액의 버전, 홀수면 쓰는 중 */
+		private volatile long sequence;
+		/** 이 버전의 잔액. 모르면 null */
+		private volatile UserPoint userPoint;
+		/** 맵의 compute 안에서만 읽고 쓴다. */
+		private int ref;
 
-        return userPointTable.insertOrUpdate(id, amount);
-    }
+		private Version(long sequence) {
+			this.sequence = sequence;
+		}
+	}
 }
@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
+import io.hhplus.tdd.common.pagination.PageRequest;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepositoryImpl.PendingHistory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 포인트 내역을 테이블에 바로 쓰지 않고 대기열에 넣은 뒤, 백그라운드 작성기가 순서대로 테이블에 씁니다.
+ * - 회원 id로 파티션을 나누고 파티션마다 작성기 하나가 처리하므로, 같은 회원의 내역은 저장 요청 순서대로 기록됩니다.
+ * - 대기열이 가득 차면 저장 요청은 최대 offer-timeout 동안 기다리고, 그래도 자리가 없으면 실패합니다.
+ * - 테이블 기록이 실패하면 기록될 때까지 간격을 늘려 가며(최대 1초) 다시 시도하고, 내역을 버리지 않습니다.
+ * - 아직 테이블에 쓰이지 않은 내역도 조회 결과에 포함되므로 /histories 응답은 저장 직후부터 일관됩니다.
+ * - 저장 요청은 대기열에 넣은 내역을 로그(PointLog)에 기록한 뒤에 반환하고, 작성기는 로그 기록이 끝난 내역만 테이블에 씁니다.
+ *   point.wal.enabled=true면 테이블에 쓰이기 전에 재시작해도 내역이 로그에서 복구되며,
+ *   로그를 끈 경우(기본값)에는 대기열에 남아 있던 내역이 프로세스와 함께 사라집니다.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "point.history.write-behind.enabled", havingValue = "true")
+public class WriteBehindPointHistoryRepository implements PointHistoryRepository {
+
+	private static final long RETRY_BACKOFF_MILLIS = 100L;
+	private static final long MAX_RETRY_BACKOFF_MILLIS = 1_000L;
+
+	private final PointHistoryRepositoryImpl delegate;
+	private final long offerTimeoutMillis;
+
+	private final BlockingQueue<PendingHistory>[] partitions;
+	private final Thread[] writers;
+
+	private volatile boolean running = true;
+
+	@SuppressWarnings("unchecked")
+	public WriteBehindPointHistoryRepository(
+		PointHistoryRepositoryImpl delegate,
+		@Value("${point.history.write-behind.partitions:4}") int partitionCount,
+		@Value("${point.history.write-behind.capacity:1024}") int capacity,
+		@Value("${point.history.write-behind.offer-timeout-millis:1000}") long offerTimeoutMillis
+	) {
+		if (partitionCount < 1) {
+			throw new IllegalArgumentException("partitionCount 값은 1 이상이어야 합니다.");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity 값은 1 이상이어야 합니다.");
+		}
+
+		this.delegate = delegate;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+		this.partitions = new BlockingQueue[partitionCount];
+		this.writers = new Thread[partitionCount];
+
+		for (int i = 0; i < partitionCount; i++) {
+			BlockingQueue<PendingHistory> queue = new ArrayBlockingQueue<>(capacity);
+			partitions[i] = queue;
+			writers[i] = new Thread(() -> drain(queue), "point-history-writer-" + i);
+			writers[i].setDaemon(true);
+			writers[i].start();
+		}
+	}
+
+	@Override
+	public List<PointHistory> findAllByUserId(long userId, PageRequest pageRequest) {
+		return delegate.findAllByUserId(userId, pageRequest);
+	}
+
+	@Override
+	public CursorPage<PointHistory> findAllByUserId(long userId, CursorRequest cursorRequest) {
+		return delegate.findAllByUserId(userId, cursorRequest);
+	}
+
+	/**
+	 * 대기열에 남아 있는 내역은 테이블에 기록된 뒤부터 합계에 포함됩니다.
+	 */
+	@Override
+	public PointSummary summarize(long userId, long fromMillis, long toMillis) {
+		return delegate.summarize(userId, fromMillis, toMillis);
+	}
+
+	/**
+	 * 내역을 대기열에 넣고 로그에 기록한 뒤 반환합니다. 테이블 기록은 기다리지 않으며, 반환된 내역은 아직 id가 없습니다.
+	 */
+	@Override
+	public PointHistory save(PointHistory pointHistory) {
+		if (!running) {
+			throw new IllegalStateException("포인트 내역 작성기가 종료되었습니다.");
+		}
+
+		PendingHistory pending = delegate.stage(pointHistory);
+
+		boolean offered;
+		try {
+			offered = partitionOf(pointHistory.userId()).offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			offered = false;
+		}
+
+		if (!offered) {
+			delegate.discard(pending);
+			throw new IllegalStateException("포인트 내역 대기열이 가득 찼습니다. (" + pointHistory + ')');
+		}
+
+		// 자리를 얻은 뒤에 로그에 남겨, 대기열이 가득 차 거절한 내역이 로그에만 남지 않게 한다.
+		delegate.log(pending);
+
+		return pointHistory;
+	}
+
+	/**
+	 * 아직 테이블에 기록되지 않고 대기열에 남아 있는 내역 수입니다.
+	 */
+	public int queuedCount() {
+		int count = 0;
+		for (BlockingQueue<PendingHistory> partition : partitions) {
+			count += partition.size();
+		}
+		return count;
+	}
+
+	private BlockingQueue<PendingHistory> partitionOf(long userId) {
+		int h = Long.hashCode(userId);
+		h ^= (h >>> 16);
+		return partitions[Math.floorMod(h, partitions.length)];
+	}
+
+	private void drain(BlockingQueue<PendingHistory> queue) {
+		while (running || !queue.isEmpty()) {
+			PendingHistory pending;
+			try {
+				pending = queue.poll(100L, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				// 종료 중에도 남은 내역은 마저 기록한다.
+				continue;
+			}
+
+			if (pending != null) {
+				flush(pending);
+			}
+		}
+	}
+
+	/**
+	 * 저장 요청은 이미 성공으로 반환됐으므로 내역을 버리지 않고 기록될 때까지 다시 시도합니다.
+	 * 파티션의 작성기가 이 내역에 머무는 동안 뒤의 내역은 대기열에서 기다리므로 회원별 순서는 유지됩니다.
+	 */
+	private void flush(PendingHistory pending) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				// 로그 기록에 실패한 내역은 저장 요청도 실패했으므로 쓰지 않고 넘어간다.
+				delegate.flush(pending);
+				return;
+			} catch (Exception e) {
+				log.warn("PointHistory 기록에 실패했습니다. 다시 시도합니다. (회원: {}, 시도: {})", pending.userId(), attempt, e);
+			}
+
+			try {
+				TimeUnit.MILLISECONDS.sleep(Math.min(RETRY_BACKOFF_MILLIS * attempt, MAX_RETRY_BACKOFF_MILLIS));
+			} catch (InterruptedException ignored) {
+
+			}
+		}
+	}
+
+	/**
+	 * 새 저장 요청을 막고, 대기열에 남은 내역을 모두 기록할 때까지 기다립니다.
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		for (Thread writer : writers) {
+			writer.join(TimeUnit.SECONDS.toMillis(30));
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package io.hhplus.tdd.point.presentation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+/**
+ * Idempotency-Key 헤더가 붙은 충전/사용 요청의 결과를 [회원, 키] 단위로 보관해, 같은 요청이 다시 오면 처리 없이 같은 결과를 돌려줍니다.
+ * - 처음 온 요청만 실행하고, 처리 중에 들어온 같은 요청은 그 처리가 끝나기를 기다려 같은 결과를 받습니다.
+ * - 성공한 결과는 완료 시점부터 ttl 동안 보관합니다. 실패한 요청은 보관하지 않으므로 같은 키로 다시 시도할 수 있습니다.
+ * - 같은 키로 종류나 금액이 다른 요청이 오면 IllegalArgumentException이 발생합니다.
+ * - 최대 크기를 넘으면 만료된 항목을 먼저 지우고, 그래도 넘치면 오래전에 완료된 항목부터 지웁니다. 처리 중인 항목은 지우지 않습니다.
+ */
+@Component
+public class IdempotencyCache {
+
+	/** 정리할 때 최대 크기의 이 비율까지 줄여, 가득 찬 상태에서 요청마다 정리하지 않도록 한다. */
+	private static final double EVICTION_TARGET_RATIO = 0.9;
+
+	private final PointMetrics pointMetrics;
+
+	private final boolean enabled;
+	private final int maxSize;
+	private final long ttlMillis;
+
+	private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	public IdempotencyCache(
+		PointMetrics pointMetrics,
+		@Value("${point.idempotency.enabled:true}") boolean enabled,
+		@Value("${point.idempotency.max-size:100000}") int maxSize,
+		@Value("${point.idempotency.ttl-seconds:600}") long ttlSeconds
+	) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize 값은 1 이상이어야 합니다.");
+		}
+
+		this.pointMetrics = pointMetrics;
+		this.enabled = enabled;
+		this.maxSize = maxSize;
+		this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+	}
+
+	/**
+	 * idempotencyKey가 없으면 매번 action을 실행합니다.
+	 */
+	public CompletableFuture<UserPoint> execute(
+		long userId,
+		String idempotencyKey,
+		TransactionType type,
+		long amount,
+		Supplier<CompletableFuture<UserPoint>> action
+	) {
+		if (!enabled || idempotencyKey == null || idempotencyKey.isBlank()) {
+			return action.get();
+		}
+
+		Key key = new Key(userId, idempotencyKey);
+		while (true) {
+			Entry entry = new Entry(type, amount);
+			Entry existing = entries.putIfAbsent(key, entry);
+			if (existing == null) {
+				if (entries.size() > maxSize) {
+					evict();
+				}
+				run(key, entry, action);
+				return entry.result.copy();
+			}
+
+			if (existing.isExpired(System.currentTimeMillis())) {
+				entries.remove(key, existing);
+				continue;
+			}
+			if (existing.type != type || existing.amount != amount) {
+				throw new IllegalArgumentException("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.");
+			}
+
+			pointMetrics.countIdempotentReplay(type == TransactionType.CHARGE ? "charge" : "use");
+			return existing.result.copy();
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void run(Key key, Entry entry, Supplier<CompletableFuture<UserPoint>> action) {
+		CompletableFuture<UserPoint> future;
+		try {
+			future = action.get();
+		} catch (RuntimeException e) {
+			entries.remove(key, entry);
+			entry.result.completeExceptionally(e);
+			return;
+		}
+
+		future.whenComplete((userPoint, error) -> {
+			if (error != null) {
+				// 기다리던 요청에는 실패를 전달하되, 이후 재시도는 다시 실행되도록 지운다.
+				entries.remove(key, entry);
+				entry.result.completeExceptionally(unwrap(error));
+				return;
+			}
+			entry.expiresAtMillis = System.currentTimeMillis() + ttlMillis;
+			entry.result.complete(userPoint);
+		});
+	}
+
+	private void evict() {
+		if (!evictionLock.tryLock()) {
+			return; // 다른 스레드가 정리 중이다.
+		}
+
+		try {
+			long now = System.currentTimeMillis();
+			entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+
+			int target = (int) (maxSize * EVICTION_TARGET_RATIO);
+			int excess = entries.size() - target;
+			if (excess <= 0) {
+				return;
+			}
+
+			List<Map.Entry<Key, Entry>> completed = new ArrayList<>();
+			for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+				if (e.getValue().result.isDone()) {
+					completed.add(e);
+				}
+			}
+			completed.sort(Comparator.comparingLong(e -> e.getValue().expiresAtMillis));
+			for (int i = 0; i < Math.min(excess, completed.size()); i++) {
+				entries.remove(completed.get(i).getKey(), completed.get(i).getValue());
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+
+	private record Key(long userId, String idempotencyKey) {}
+
+	private static final class Entry {
+
+		private final TransactionType type;
+		private final long amount;
+		private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+		/** 처리 중에는 만료되지 않는다. */
+		private volatile long expiresAtMillis = Long.MAX_VALUE;
+
+		private Entry(TransactionType type, long amount) {
+			this.type = type;
+			this.amount = amount;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expiresAtMillis;
+		}
+	}
+}
@@ -1,18 +1,40 @@
 package io.hhplus.tdd.point.presentation;
 
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
 import io.hhplus.tdd.common.pagination.PageRequest;
 import io.hhplus.tdd.point.application.PointService;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.PointTransferResult;
+import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/point")
@@ -21,7 +43,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PointController {
 
+	private static final int MAX_BATCH_SIZE = 10_000;
+	private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
 	private final PointService pointService;
+	private final IdempotencyCache idempotencyCache;
+	private final UserPointStream userPointStream;
 
 	@GetMapping("{id}")
 	public UserPoint point(
@@ -30,6 +57,16 @@ public class PointController {
 		return pointService.findUserPointById(id);
 	}
 
+	/**
+	 * 연결하면 현재 잔액을 보내고, 이후 충전/사용으로 잔액이 바뀔 때마다 바뀐 UserPoint를 point 이벤트로 보냅니다.
+	 */
+	@GetMapping(value = "{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(
+		@PathVariable @PositiveOrZero long id
+	) {
+		return userPointStream.open(id, pointService.findUserPointById(id));
+	}
+
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
             @PathVariable @PositiveOrZero long id,
@@ -39,19 +76,123 @@ public class PointController {
         return pointService.findPointHistoriesByUserId(id, new PageRequest(page, size));
     }
 
+    /**
+     * after 파라미터가 주어지면 커서 기반으로 조회합니다. 응답의 nextCursor를 다음 요청의 after로 사용합니다.
+     */
+    @GetMapping(value = "{id}/histories", params = "after")
+    public CursorPage<PointHistory> historyAfter(
+            @PathVariable @PositiveOrZero long id,
+            @RequestParam long after,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return pointService.findPointHistoriesByUserId(id, new CursorRequest(after, size));
+    }
+
+    /**
+     * 회원의 기간별 충전/사용 금액 합계를 조회합니다. 기간은 [from, to)(밀리초)이며 1분 단위 경계로 넓혀 계산됩니다.
+     */
+    @GetMapping("{id}/histories/summary")
+    public PointSummary summary(
+            @PathVariable @PositiveOrZero long id,
+            @RequestParam(defaultValue = "0") @PositiveOrZero long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) @PositiveOrZero long to
+    ) {
+        return pointService.summarizePointHistories(id, from, to);
+    }
+
+    /**
+     * 회원의 포인트 내역 전체를 한 줄에 하나씩 JSON(NDJSON)으로 내려보냅니다. from/to(밀리초)로 기록 시각 범위를 [from, to)로 좁힐 수 있습니다.
+     * 내역을 모아 두지 않고 읽는 대로 응답 스트림에 쓰므로, 내역이 많아도 메모리 사용량이 늘지 않습니다.
+     */
+    @GetMapping(value = "{id}/histories/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHistories(
+            @PathVariable @PositiveOrZero long id,
+            @RequestParam(defaultValue = "0") @PositiveOrZero long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) @PositiveOrZero long to
+    ) {
+        if (from > to) {
+            throw new IllegalArgumentException("from 값은 to 값보다 클 수 없습니다.");
+        }
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                pointService.forEachPointHistory(id, from, to, pointHistory -> writeLine(writer, pointHistory));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * PointHistory는 숫자와 enum만 담고 있어 직접 씁니다. 필드 이름은 JSON 응답과 같습니다.
+     */
+    private static void writeLine(Writer writer, PointHistory pointHistory) {
+        try {
+            writer.write("{\"id\":");
+            writer.write(Long.toString(pointHistory.id()));
+            writer.write(",\"userId\":");
+            writer.write(Long.toString(pointHistory.userId()));
+            writer.write(",\"amount\":");
+            writer.write(Long.toString(pointHistory.amount()));
+            writer.write(",\"type\":\"");
+            writer.write(pointHistory.type().name());
+            writer.write("\",\"updateMillis\":");
+            writer.write(Long.toString(pointHistory.updateMillis()));
+            writer.write("}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 처리 결과 future를 반환해 요청 스레드는 바로 반납되고, 처리가 끝나면 응답이 이어서 전송됩니다.
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 온 요청은 처리하지 않고 처음 요청의 결과로 응답합니다.
+     */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable @PositiveOrZero long id,
-            @RequestBody @Positive long amount
+            @RequestBody @Positive long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 255) String idempotencyKey
     ) {
-        return pointService.chargeUserPoint(id, amount);
+        return idempotencyCache.execute(id, idempotencyKey, TransactionType.CHARGE, amount,
+                () -> pointService.chargeUserPointAsync(id, amount));
     }
 
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable @PositiveOrZero long id,
-            @RequestBody @Positive long amount
+            @RequestBody @Positive long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 255) String idempotencyKey
+    ) {
+        return idempotencyCache.execute(id, idempotencyKey, TransactionType.USE, amount,
+                () -> pointService.useUserPointAsync(id, amount));
+    }
+
+    /**
+     * id 회원의 포인트를 다른 회원에게 옮깁니다. 보낸 회원에게는 사용, 받은 회원에게는 충전 내역이 남습니다.
+     * 샤드 엔진이나 원자적 셀 저장소를 쓰는 중에는 501로 거절합니다.
+     */
+    @PostMapping("{id}/transfer")
+    public PointTransferResult transfer(
+            @PathVariable @PositiveOrZero long id,
+            @RequestBody @Valid PointTransfer transfer
+    ) {
+        return pointService.transferPoint(id, transfer.toUserId(), transfer.amount());
+    }
+
+    /**
+     * 여러 회원의 충전/사용을 한 번에 처리합니다. 항목별 실패는 전체 요청을 실패시키지 않고 결과에 담깁니다.
+     */
+    @PostMapping("batch")
+    public CompletableFuture<List<PointOperationResult>> batch(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<PointOperation> operations
     ) {
-        return pointService.useUserPoint(id, amount);
+        return pointService.applyBatch(operations);
     }
 }
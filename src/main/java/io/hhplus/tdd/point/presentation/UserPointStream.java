@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.presentation;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.hhplus.tdd.point.application.UserPointChangeHub;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+/**
+ * 회원의 잔액 변경을 SSE(Server-Sent Events) 연결로 내려보냅니다.
+ * - 연결마다 SseEmitter 하나를 UserPointChangeHub에 구독시키며, 연결이 열려 있는 동안 요청 스레드를 점유하지 않습니다.
+ * - 구독한 뒤 현재 잔액을 먼저 보내므로, 그 사이의 변경과 순서가 뒤바뀌어 도착할 수 있습니다. 클라이언트는 updateMillis가 큰 값을 최신으로 봅니다.
+ * - 연결이 끝나거나(timeout 포함) 전송에 실패하면 구독을 해지합니다. 클라이언트는 timeout 뒤 다시 연결합니다.
+ * - 전송이 point.stream.send-timeout-millis를 넘겨 허브가 구독을 떼어 내면 연결을 닫습니다. 클라이언트는 다시 연결해 현재 잔액부터 받습니다.
+ */
+@Component
+public class UserPointStream {
+
+	private static final String EVENT_NAME = "point";
+
+	private final UserPointChangeHub userPointChangeHub;
+	private final long timeoutMillis;
+
+	public UserPointStream(
+		UserPointChangeHub userPointChangeHub,
+		@Value("${point.stream.timeout-millis:1800000}") long timeoutMillis
+	) {
+		this.userPointChangeHub = userPointChangeHub;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	public SseEmitter open(long userId, UserPoint current) {
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		UserPointChangeHub.Listener listener = new UserPointChangeHub.Listener() {
+			@Override
+			public void onChange(UserPoint userPoint) throws IOException {
+				emitter.send(SseEmitter.event().name(EVENT_NAME).data(userPoint));
+			}
+
+			@Override
+			public void onHeartbeat() throws IOException {
+				emitter.send(SseEmitter.event().comment("heartbeat"));
+			}
+
+			@Override
+			public void onDropped() {
+				emitter.complete();
+			}
+		};
+
+		Runnable unsubscribe = () -> userPointChangeHub.unsubscribe(userId, listener);
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		emitter.onError(e -> unsubscribe.run());
+
+		userPointChangeHub.subscribe(userId, listener);
+		try {
+			listener.onChange(current);
+		} catch (IOException e) {
+			unsubscribe.run();
+			emitter.completeWithError(e);
+		}
+
+		return emitter;
+	}
+}
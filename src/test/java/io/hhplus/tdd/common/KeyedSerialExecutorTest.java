@@ -0,0 +1,121 @@
+package io.hhplus.tdd.common;
+
+import io.hhplus.tdd.common.exception.LockWaitQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyedSerialExecutorTest {
+
+    private final KeyedSerialExecutor keyedSerialExecutor = new KeyedSerialExecutor(8);
+
+    @AfterEach
+    void afterEach() {
+        keyedSerialExecutor.shutdown();
+    }
+
+    // 테스트 작성 이유: 같은 키의 작업이 겹치지 않고 제출 순서대로 실행되는지 검증하기 위해
+    @Test
+    @DisplayName("같은 키로 제출한 작업은 동시에 실행되지 않고 제출 순서대로 실행된다.")
+    void givenSameKeyTasks_whenSubmit_thenRunSeriallyInOrder() {
+        // given
+        long key = 0L;
+        int taskCount = 100;
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<Integer> overlaps = new CopyOnWriteArrayList<>();
+
+        // when
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            final int seq = i;
+            futures.add(keyedSerialExecutor.submit(key, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.add(seq);
+                }
+                order.add(seq);
+                running.decrementAndGet();
+                return seq;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+
+        // then
+        assertThat(overlaps).isEmpty();
+        assertThat(order).containsExactlyElementsOf(IntStream.range(0, taskCount).boxed().toList());
+    }
+
+    // 테스트 작성 이유: 작업에서 발생한 예외가 future로 전달되고, 이후 작업 실행을 막지 않는지 검증하기 위해
+    @Test
+    @DisplayName("앞선 작업이 예외로 실패해도 같은 키의 다음 작업은 정상 실행된다.")
+    void givenFailedTask_whenSubmitNext_thenNextTaskRuns() {
+        // given
+        long key = 0L;
+
+        // when
+        CompletableFuture<Integer> failed = keyedSerialExecutor.submit(key, () -> {
+            throw new IllegalStateException("failure");
+        });
+        CompletableFuture<Integer> next = keyedSerialExecutor.submit(key, () -> 1);
+
+        // then
+        assertThat(next.orTimeout(5, TimeUnit.SECONDS).join()).isEqualTo(1);
+        assertThat(failed).isCompletedExceptionally();
+    }
+
+    // 테스트 작성 이유: 한 키에 요청이 한없이 쌓이지 않고, 제한을 넘으면 줄을 세우지 않고 거절하는지 검증하기 위해
+    @Test
+    @DisplayName("같은 키에 maxQueuedPerKey개가 밀려 있으면 다음 작업은 실행되지 않고 LockWaitQueueFullException으로 실패한다.")
+    void givenFullKeyQueue_whenSubmit_thenRejectWithoutQueueing() throws InterruptedException {
+        // given
+        long key = 0L;
+        KeyedSerialExecutor bounded = new KeyedSerialExecutor(Executors.newFixedThreadPool(1), 2, new LockManager());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+
+        try {
+            CompletableFuture<Integer> running = bounded.submit(key, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return executed.incrementAndGet();
+            });
+            started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<Integer> queued1 = bounded.submit(key, executed::incrementAndGet);
+            CompletableFuture<Integer> queued2 = bounded.submit(key, executed::incrementAndGet);
+
+            // when
+            CompletableFuture<Integer> rejected = bounded.submit(key, executed::incrementAndGet);
+            release.countDown();
+            CompletableFuture.allOf(running, queued1, queued2).orTimeout(5, TimeUnit.SECONDS).join();
+
+            // then
+            assertThat(rejected).isCompletedExceptionally();
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(LockWaitQueueFullException.class);
+            assertThat(executed.get()).isEqualTo(3);
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.common;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockManagerPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // 테스트 작성 이유: 가상 스레드가 LockManager 락을 기다리거나 잡은 채 멈춰도 캐리어 스레드를 고정(pinning)하지 않는지 검증하기 위해
+    @ParameterizedTest
+    @EnumSource(LockManager.Mode.class)
+    @DisplayName("가상 스레드가 LockManager 락을 잡은 채 대기해도 캐리어 스레드 고정 이벤트가 발생하지 않는다.")
+    void givenVirtualThreads_whenContendOnLock_thenNoPinnedEvent(LockManager.Mode mode) {
+        // given
+        LockManager lockManager = new LockManager(mode, 16);
+        int taskCount = 100;
+        int userCount = 4;
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+
+        // when
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, pinnedEvents::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < taskCount; i++) {
+                    long userId = i % userCount;
+                    executor.submit(() -> {
+                        ReentrantLock lock = lockManager.acquire(userId);
+                        lock.lock();
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(5L); // 락을 잡은 채 테이블 지연처럼 멈춘다.
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            lock.unlock();
+                            lockManager.release(userId);
+                        }
+                    });
+                }
+            }
+
+            recording.stop();
+        }
+
+        // then
+        assertThat(pinnedEvents).isEmpty();
+    }
+}
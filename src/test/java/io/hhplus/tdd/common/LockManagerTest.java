@@ -0,0 +1,106 @@
+package io.hhplus.tdd.common;
+
+import io.hhplus.tdd.common.exception.LockTimeoutException;
+import io.hhplus.tdd.common.exception.LockWaitQueueFullException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LockManagerTest {
+
+    // 테스트 작성 이유: 락을 오래 잡은 요청이 있어도 다른 요청이 제한 시간 뒤에 거절되고, 회원 락 참조가 남지 않는지 검증하기 위해
+    @Test
+    @DisplayName("제한 시간 안에 회원 락을 얻지 못하면 LockTimeoutException이 발생하고 참조 중인 락 수는 늘지 않는다.")
+    void givenHeldLock_whenLockWithTimeout_thenThrowLockTimeoutException() {
+        // given
+        LockManager lockManager = new LockManager(LockManager.Mode.REF_COUNT, 0, false, 50L, 0);
+        long userId = 0L;
+        ReentrantLock held = lockManager.lock(userId);
+
+        // when
+        ThrowableAssert.ThrowingCallable otherThreadCase = () -> {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                executor.submit(() -> lockManager.lock(userId)).get();
+            } finally {
+                executor.shutdown();
+            }
+        };
+
+        // then
+        assertThatThrownBy(otherThreadCase).hasCauseInstanceOf(LockTimeoutException.class);
+        assertThat(lockManager.timeoutCount()).isEqualTo(1L);
+        assertThat(lockManager.activeLocks()).isEqualTo(1);
+
+        held.unlock();
+        lockManager.release(userId);
+        assertThat(lockManager.activeLocks()).isZero();
+    }
+
+    // 테스트 작성 이유: 대기 줄이 가득 찬 회원의 요청은 기다리지 않고 바로 거절되는지 검증하기 위해
+    @Test
+    @DisplayName("회원 락의 대기 줄이 max-waiters만큼 차 있으면 LockWaitQueueFullException이 발생한다.")
+    void givenFullWaitQueue_whenLock_thenThrowLockWaitQueueFullException() throws InterruptedException {
+        // given
+        LockManager lockManager = new LockManager(LockManager.Mode.REF_COUNT, 0, false, 0L, 1);
+        long userId = 0L;
+        ReentrantLock held = lockManager.lock(userId);
+
+        CountDownLatch waiterDone = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            ReentrantLock lock = lockManager.lock(userId);
+            lock.unlock();
+            lockManager.release(userId);
+            waiterDone.countDown();
+        });
+        waiter.start();
+        while (!held.hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        ThrowableAssert.ThrowingCallable overflowCase = () -> {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                executor.submit(() -> lockManager.lock(userId)).get();
+            } finally {
+                executor.shutdown();
+            }
+        };
+
+        // then
+        assertThatThrownBy(overflowCase).hasCauseInstanceOf(LockWaitQueueFullException.class);
+        assertThat(lockManager.queueFullCount()).isEqualTo(1L);
+
+        held.unlock();
+        lockManager.release(userId);
+        assertThat(waiterDone.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(lockManager.activeLocks()).isZero();
+    }
+
+    // 테스트 작성 이유: 두 회원을 함께 잠글 때 인자 순서와 관계없이 같은 순서가 정해져, 반대 방향 이체끼리 교착되지 않는지 검증하기 위해
+    @Test
+    @DisplayName("두 회원 중 먼저 잠글 회원은 인자 순서와 관계없이 같고, STRIPED 모드에서는 스트라이프 순서를 따른다.")
+    void givenTwoUsers_whenFirstToLock_thenReturnSameUserRegardlessOfArgumentOrder() {
+        // given
+        LockManager refCount = new LockManager(LockManager.Mode.REF_COUNT, 0);
+        LockManager striped = new LockManager(LockManager.Mode.STRIPED, 16);
+
+        // when & then
+        assertThat(refCount.firstToLock(7L, 3L)).isEqualTo(3L);
+        assertThat(refCount.firstToLock(3L, 7L)).isEqualTo(3L);
+        for (long userId = 0; userId < 100; userId++) {
+            long otherUserId = userId * 31 + 1;
+            assertThat(striped.firstToLock(userId, otherUserId)).isEqualTo(striped.firstToLock(otherUserId, userId));
+        }
+    }
+}
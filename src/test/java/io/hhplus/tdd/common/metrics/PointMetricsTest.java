@@ -0,0 +1,39 @@
+package io.hhplus.tdd.common.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointMetricsTest {
+
+    // 테스트 작성 이유: 태그 조합별로 한 번 등록한 지표를 재사용해도, 태그 값마다 따로 누적되는지 검증하기 위해
+    @Test
+    @DisplayName("같은 태그로 여러 번 기록하면 한 지표에 누적되고, 태그가 다르면 다른 지표에 기록된다.")
+    void givenRepeatedTags_whenRecord_thenAccumulatePerTagSet() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+        // when
+        pointMetrics.recordLockWait("charge", 1L, 1_000L);
+        pointMetrics.recordLockWait("charge", 2L, 1_000L);
+        pointMetrics.recordLockWait("use", 1L, 1_000L);
+        pointMetrics.recordTableCall("user_point", "select", () -> null);
+        pointMetrics.recordTableCall("user_point", "insert", () -> null);
+        pointMetrics.recordTableCall("user_point", "select", () -> null);
+        pointMetrics.countRollback(false);
+        pointMetrics.countRollback(false);
+
+        // then
+        Timer chargeWait = meterRegistry.get("point.lock.wait").tag("operation", "charge").timer();
+        assertThat(chargeWait.count()).isEqualTo(2L);
+        assertThat(meterRegistry.get("point.lock.wait").tag("operation", "use").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("point.table.call").tags("table", "user_point", "method", "select").timer().count()).isEqualTo(2L);
+        assertThat(meterRegistry.get("point.table.call").tags("table", "user_point", "method", "insert").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("point.rollback").tag("result", "failure").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("point.rollback").tag("result", "success").counter().count()).isZero();
+    }
+}
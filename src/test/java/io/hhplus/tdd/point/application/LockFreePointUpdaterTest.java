@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.common.exception.PointHistoryBufferFullException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.infrastructure.AtomicUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LockFreePointUpdaterTest {
+
+    @Mock
+    private AtomicUserPointRepository atomicUserPointRepository;
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    // 테스트 작성 이유: 링 버퍼가 가득 찬 과부하는 서버 오류(500)가 아니라 재시도 가능한 거절(503)로 구분되는지 검증하기 위해
+    @Test
+    @DisplayName("포인트 내역 링 버퍼가 가득 차 있으면 잔액을 바꾸지 않고 PointHistoryBufferFullException이 발생한다.")
+    void givenFullRing_whenCharge_thenThrowPointHistoryBufferFullException() throws InterruptedException {
+        // given
+        PointHistoryRing ring = new PointHistoryRing(pointHistoryRepository, 2);
+        LockFreePointUpdater lockFreePointUpdater = new LockFreePointUpdater(atomicUserPointRepository, ring, new PointMetrics(new SimpleMeterRegistry()));
+        long first = ring.claim();
+        long second = ring.claim();
+
+        // when
+        ThrowableAssert.ThrowingCallable overflowCase = () -> lockFreePointUpdater.charge(1L, 100L);
+
+        // then
+        assertThatThrownBy(overflowCase).isInstanceOf(PointHistoryBufferFullException.class);
+        verifyNoInteractions(atomicUserPointRepository);
+
+        ring.skip(first);
+        ring.skip(second);
+        ring.shutdown();
+    }
+}
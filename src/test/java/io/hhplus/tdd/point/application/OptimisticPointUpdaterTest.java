@@ -0,0 +1,153 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.VersionedUserPoint;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticPointUpdaterTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private OptimisticPointUpdater optimisticPointUpdater;
+
+    @BeforeEach
+    void beforeEach() {
+        lenient().when(userPointRepository.writeLocked(anyLong(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        optimisticPointUpdater = new OptimisticPointUpdater(new LockManager(), userPointRepository, pointHistoryRepository,
+                new PointMetrics(new SimpleMeterRegistry()), true, 3, 60_000L, 300L);
+    }
+
+    // 테스트 작성 이유: 읽은 뒤 다른 저장이 끼어들면 새 버전으로 다시 읽어 계산하고, 내역은 반영된 한 번만 기록되는지 검증하기 위해
+    @Test
+    @DisplayName("버전 충돌이 나면 다시 조회한 잔액으로 재시도해 반영하고, 포인트 내역은 한 번만 저장된다.")
+    void givenConflictOnce_whenTryApply_thenRetryWithLatestVersion() {
+        // given
+        long userId = 0L;
+        when(userPointRepository.findVersionedById(userId))
+                .thenReturn(new VersionedUserPoint(new UserPoint(userId, 100L, 0L), 2L))
+                .thenReturn(new VersionedUserPoint(new UserPoint(userId, 150L, 0L), 4L));
+        when(userPointRepository.compareAndSave(any(UserPoint.class), eq(2L)))
+                .thenReturn(Optional.empty());
+        when(userPointRepository.compareAndSave(any(UserPoint.class), eq(4L)))
+                .thenAnswer(inv -> Optional.of(inv.getArgument(0)));
+
+        // when
+        UserPoint userPoint = optimisticPointUpdater.tryApply(userId, TransactionType.CHARGE, 10L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(160L);
+        verify(pointHistoryRepository, times(1)).save(any(PointHistory.class));
+    }
+
+    // 테스트 작성 이유: 재시도를 모두 소진한 회원은 일정 기간 낙관적 갱신을 시도하지 않고 곧바로 락 경로로 보내는지 검증하기 위해
+    @Test
+    @DisplayName("재시도를 모두 소진하면 null을 반환하고, 이후 요청은 조회 없이 바로 null을 반환한다.")
+    void givenConflictsExhausted_whenTryApplyAgain_thenFallbackWithoutRead() {
+        // given
+        long userId = 0L;
+        when(userPointRepository.findVersionedById(userId))
+                .thenReturn(new VersionedUserPoint(new UserPoint(userId, 100L, 0L), 2L));
+        when(userPointRepository.compareAndSave(any(UserPoint.class), anyLong()))
+                .thenReturn(Optional.empty());
+
+        // when
+        UserPoint first = optimisticPointUpdater.tryApply(userId, TransactionType.USE, 10L);
+        UserPoint second = optimisticPointUpdater.tryApply(userId, TransactionType.USE, 10L);
+
+        // then
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        verify(userPointRepository, times(3)).findVersionedById(userId);
+        verify(pointHistoryRepository, never()).save(any(PointHistory.class));
+    }
+
+    // 테스트 작성 이유: 저장이 수백 ms 걸리는 동안 들어온 다른 요청이 회원 락 없이도 재시도를 모두 소진하지 않고 반영되는지 검증하기 위해
+    @Test
+    @DisplayName("저장이 느린 동안 같은 회원에게 두 요청이 겹쳐도, 둘 다 반영되고 회원은 락 경로로 전환되지 않는다.")
+    void givenSlowSave_whenTwoWritersContend_thenBothApplyWithoutFallback() throws Exception {
+        // given
+        long userId = 0L;
+        AtomicReference<VersionedUserPoint> stored = new AtomicReference<>(new VersionedUserPoint(new UserPoint(userId, 0L, 0L), 0L));
+        when(userPointRepository.findVersionedById(userId)).thenAnswer(inv -> stored.get());
+        ReentrantLock rowLock = new ReentrantLock();
+        when(userPointRepository.compareAndSave(any(UserPoint.class), anyLong())).thenAnswer(inv -> {
+            // 저장소처럼 다른 저장이 진행 중이면 기다리지 않고 실패한다.
+            if (!rowLock.tryLock()) {
+                return Optional.empty();
+            }
+            try {
+                UserPoint userPoint = inv.getArgument(0);
+                long expectedVersion = inv.getArgument(1);
+                if (stored.get().version() != expectedVersion) {
+                    return Optional.empty();
+                }
+                TimeUnit.MILLISECONDS.sleep(300L);
+                stored.set(new VersionedUserPoint(userPoint, expectedVersion + 2));
+                return Optional.of(userPoint);
+            } finally {
+                rowLock.unlock();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return optimisticPointUpdater.tryApply(userId, TransactionType.CHARGE, 100L);
+            }));
+        }
+        start.countDown();
+
+        List<UserPoint> results = new ArrayList<>();
+        for (Future<UserPoint> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        UserPoint next = optimisticPointUpdater.tryApply(userId, TransactionType.CHARGE, 100L);
+
+        // then
+        assertThat(results).doesNotContainNull();
+        assertThat(next).isNotNull();
+        assertThat(stored.get().userPoint().point()).isEqualTo(300L);
+        verify(pointHistoryRepository, times(3)).save(any(PointHistory.class));
+    }
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointReadCoalescerTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PointReadCoalescer pointReadCoalescer;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        pointReadCoalescer = new PointReadCoalescer(userPointRepository, pointHistoryRepository, new PointMetrics(meterRegistry), true);
+    }
+
+    // 테스트 작성 이유: 같은 회원의 잔액 조회가 몰려도 진행 중인 조회 하나만 저장소에 닿고, 나머지는 그 결과를 나눠 받는지 검증하기 위해
+    @Test
+    @DisplayName("같은 회원의 잔액을 동시에 조회하면 저장소는 한 번만 호출되고 모든 요청이 같은 결과를 받는다.")
+    void givenConcurrentReads_whenFindUserPoint_thenRepositoryCalledOnce() throws Exception {
+        // given
+        long userId = 1L;
+        UserPoint userPoint = new UserPoint(userId, 1000L, 0L);
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointRepository.findById(userId)).thenAnswer(inv -> {
+            readStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return userPoint;
+        });
+
+        int requestCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        List<Future<UserPoint>> results = new ArrayList<>();
+
+        // when
+        results.add(executor.submit(() -> pointReadCoalescer.findUserPoint(userId)));
+        readStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 1; i < requestCount; i++) {
+            results.add(executor.submit(() -> pointReadCoalescer.findUserPoint(userId)));
+        }
+        // 뒤따른 요청이 진행 중인 조회에 합류할 때까지 기다린다.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("point.read.coalesced", "target", "user_point").count() < requestCount - 1
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        for (Future<UserPoint> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(userPoint);
+        }
+        verify(userPointRepository, times(1)).findById(userId);
+        executor.shutdown();
+    }
+}
@@ -1,17 +1,30 @@
 package io.hhplus.tdd.point.application;
 
+import io.hhplus.tdd.common.KeyedSerialExecutor;
 import io.hhplus.tdd.common.LockManager;
 import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
 import io.hhplus.tdd.common.exception.ChargePointFailureException;
 import io.hhplus.tdd.common.exception.InvariantViolationException;
+import io.hhplus.tdd.common.exception.LockTimeoutException;
+import io.hhplus.tdd.common.exception.LockWaitQueueFullException;
+import io.hhplus.tdd.common.exception.TransferNotSupportedException;
 import io.hhplus.tdd.common.exception.UsePointFailureException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.common.pagination.CursorRequest;
 import io.hhplus.tdd.common.pagination.PageRequest;
+import io.hhplus.tdd.common.pagination.PaginationManager;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.PointTransferResult;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.AtomicUserPointRepository;
 import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
 import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,10 +34,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,12 +55,39 @@ class PointServiceTest {
     @Mock
     private PointHistoryRepository pointHistoryRepository;
 
+    private SimpleMeterRegistry meterRegistry;
+    private KeyedSerialExecutor keyedSerialExecutor;
     private PointService pointService;
 
     @BeforeEach
     void beforeEach() {
-        LockManager lockManager = new LockManager();
-        pointService = new PointServiceImpl(lockManager, userPointRepository, pointHistoryRepository);
+        lenient().when(userPointRepository.writeLocked(anyLong(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        meterRegistry = new SimpleMeterRegistry();
+        pointService = newPointService(new LockManager());
+    }
+
+    private PointService newPointService(LockManager lockManager) {
+        return newPointService(lockManager, null);
+    }
+
+    private PointService newPointService(LockManager lockManager, ShardedPointEngine shardedPointEngine) {
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+        PointWriteCombiner pointWriteCombiner = new PointWriteCombiner(lockManager, userPointRepository, pointHistoryRepository, pointMetrics, false);
+        OptimisticPointUpdater optimisticPointUpdater = new OptimisticPointUpdater(lockManager, userPointRepository, pointHistoryRepository, pointMetrics, false, 3, 5000L, 300L);
+        if (shardedPointEngine == null) {
+            shardedPointEngine = new ShardedPointEngine(pointWriteCombiner, false, 0, 1, 0L);
+        }
+        keyedSerialExecutor = new KeyedSerialExecutor(2, lockManager);
+        LockFreePointUpdater lockFreePointUpdater = new LockFreePointUpdater((AtomicUserPointRepository) null, null, pointMetrics);
+        PointReadCoalescer pointReadCoalescer = new PointReadCoalescer(userPointRepository, pointHistoryRepository, pointMetrics, true);
+        return new PointServiceImpl(lockManager, userPointRepository, pointHistoryRepository, pointReadCoalescer, pointWriteCombiner, optimisticPointUpdater,
+                shardedPointEngine, lockFreePointUpdater, keyedSerialExecutor, new UserPointChangeHub(userPointRepository, 1, 0L), pointMetrics);
+    }
+
+    @AfterEach
+    void afterEach() {
+        keyedSerialExecutor.shutdown();
     }
 
     @Nested
@@ -210,6 +257,99 @@ class PointServiceTest {
             // then
             assertThatThrownBy(casePointHistory).isInstanceOf(ChargePointFailureException.class);
         }
+
+        // 테스트 작성 이유: 롤백 발생 여부를 운영 지표로 확인할 수 있는지 검증하기 위해
+        @Test
+        @DisplayName("PointHistory 저장 실패로 UserPoint가 롤백되면 롤백 성공 횟수와 락 대기/보유 시간이 기록된다.")
+        void givenPointHistorySaveError_whenChargePoint_thenRecordRollbackAndLockMetrics() {
+            // given
+            when(userPointRepository.findById(anyLong()))
+                    .thenReturn(new UserPoint(0L, 100L, System.currentTimeMillis()));
+            when(userPointRepository.save(any(UserPoint.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
+            when(pointHistoryRepository.save(any(PointHistory.class)))
+                    .thenThrow(new RuntimeException("DB error"));
+
+            // when
+            assertThatThrownBy(() -> pointService.chargeUserPoint(0L, 100L)).isInstanceOf(ChargePointFailureException.class);
+
+            // then
+            assertThat(meterRegistry.get("point.rollback").tag("result", "success").counter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("point.lock.wait").tag("operation", "charge").timer().count()).isEqualTo(1L);
+            assertThat(meterRegistry.get("point.lock.hold").tag("operation", "charge").timer().count()).isEqualTo(1L);
+        }
+
+        // 테스트 작성 이유: 비동기 충전이 동기 충전과 같은 결과로 완료되는지 검증하기 위해
+        @Test
+        @DisplayName("비동기로 충전하면 충전 금액만큼 포인트가 증가된 UserPoint로 future가 완료된다.")
+        void givenIdAndAmount_whenChargePointAsync_thenCompleteWithUpdatedUserPoint() {
+            // given
+            long userId = 0L;
+            long amount = 100L;
+            when(userPointRepository.findById(userId))
+                    .thenReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+            when(userPointRepository.save(any(UserPoint.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            // when
+            UserPoint result = pointService.chargeUserPointAsync(userId, amount).join();
+
+            // then
+            assertThat(result.point()).isEqualTo(amount * 2);
+            verify(pointHistoryRepository).save(any(PointHistory.class));
+        }
+
+        // 테스트 작성 이유: 직렬 실행기가 이미 같은 회원의 작업을 차례로 실행하므로, 작업 안에서 회원 락을 다시 잡지 않는지 검증하기 위해
+        @Test
+        @DisplayName("비동기로 충전하면 회원 락을 기다리지 않고 저장소의 writeLocked 구간 안에서 반영된다.")
+        void givenIdAndAmount_whenChargePointAsync_thenSkipUserLock() {
+            // given
+            long userId = 0L;
+            long amount = 100L;
+            when(userPointRepository.findById(userId))
+                    .thenReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+            when(userPointRepository.save(any(UserPoint.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            // when
+            pointService.chargeUserPointAsync(userId, amount).join();
+
+            // then
+            verify(userPointRepository).writeLocked(eq(userId), any());
+            assertThat(meterRegistry.find("point.lock.wait").tag("operation", "charge").timer()).isNull();
+        }
+
+        // 테스트 작성 이유: 비동기 요청은 회원 락이 아니라 직렬 실행기에서 기다리므로, 대기 줄 제한과 제한 시간이 실행기에 들어올 때부터 적용되는지 검증하기 위해
+        @Test
+        @DisplayName("같은 회원의 비동기 요청이 max-waiters만큼 밀려 있으면 LockWaitQueueFullException으로, 도착 후 제한 시간이 지나 차례가 오면 LockTimeoutException으로 실패한다.")
+        void givenSlowCharge_whenChargePointAsync_thenRejectByWaitersAndDeadline() throws InterruptedException {
+            // given
+            long userId = 0L;
+            long amount = 100L;
+            keyedSerialExecutor.shutdown();
+            PointService limitedPointService = newPointService(new LockManager(LockManager.Mode.REF_COUNT, 0, false, 100L, 1));
+
+            CountDownLatch started = new CountDownLatch(1);
+            when(userPointRepository.findById(userId)).thenAnswer(inv -> {
+                started.countDown();
+                Thread.sleep(300L);
+                return new UserPoint(userId, 0L, System.currentTimeMillis());
+            });
+            when(userPointRepository.save(any(UserPoint.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            // when
+            CompletableFuture<UserPoint> running = limitedPointService.chargeUserPointAsync(userId, amount);
+            started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<UserPoint> queued = limitedPointService.chargeUserPointAsync(userId, amount);
+            CompletableFuture<UserPoint> overflow = limitedPointService.chargeUserPointAsync(userId, amount);
+
+            // then
+            assertThat(running.join().point()).isEqualTo(amount);
+            assertThatThrownBy(queued::join).hasCauseInstanceOf(LockTimeoutException.class);
+            assertThatThrownBy(overflow::join).hasCauseInstanceOf(LockWaitQueueFullException.class);
+            verify(userPointRepository, times(1)).findById(userId);
+        }
     }
 
     @Nested
@@ -325,4 +465,136 @@ class PointServiceTest {
             assertThatThrownBy(casePointHistory).isInstanceOf(UsePointFailureException.class);
         }
     }
+
+    @Nested
+    @DisplayName("일괄 처리 - applyBatch()")
+    class ApplyBatchTest {
+        // 테스트 작성 이유: 같은 회원의 요청이 한 번의 조회/저장으로 묶이고, 결과가 요청 순서대로 항목별로 반환되는지 검증하기 위해
+        @Test
+        @DisplayName("여러 회원의 요청이 주어지면 회원마다 UserPoint를 한 번씩 조회/저장하고, 요청 순서대로 항목별 결과가 반환된다.")
+        void givenOperationsForUsers_whenApplyBatch_thenGroupByUserAndReturnResultsInOrder() {
+            // given
+            when(userPointRepository.findById(anyLong()))
+                    .thenAnswer(inv -> new UserPoint(inv.getArgument(0), 100L, System.currentTimeMillis()));
+            when(userPointRepository.save(any(UserPoint.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
+            List<PointOperation> operations = List.of(
+                    new PointOperation(1L, TransactionType.CHARGE, 50L),
+                    new PointOperation(2L, TransactionType.USE, 30L),
+                    new PointOperation(1L, TransactionType.USE, 500L),
+                    new PointOperation(1L, TransactionType.USE, 120L),
+                    new PointOperation(2L, TransactionType.CHARGE, 0L)
+            );
+
+            // when
+            List<PointOperationResult> results = pointService.applyBatch(operations).join();
+
+            // then
+            assertThat(results).extracting(PointOperationResult::success)
+                    .containsExactly(true, true, false, true, false);
+            assertThat(results.get(0).userPoint().point()).isEqualTo(150L);
+            assertThat(results.get(1).userPoint().point()).isEqualTo(70L);
+            assertThat(results.get(3).userPoint().point()).isEqualTo(30L);
+            verify(userPointRepository, times(1)).findById(1L);
+            verify(userPointRepository, times(1)).findById(2L);
+            verify(userPointRepository, times(2)).save(any(UserPoint.class));
+            verify(pointHistoryRepository, times(3)).save(any(PointHistory.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("포인트 이체 - transferPoint()")
+    class TransferPointTest {
+        // 테스트 작성 이유: 이체 한 번으로 두 회원의 잔액과 내역이 함께 반영되는지 검증하기 위해
+        @Test
+        @DisplayName("보낸 회원의 잔액이 충분하면 두 회원의 잔액이 바뀌고 사용/충전 내역이 하나씩 기록된다.")
+        void givenEnoughBalance_whenTransferPoint_thenUpdateBothUsers() {
+            // given
+            when(userPointRepository.findById(1L)).thenReturn(new UserPoint(1L, 100L, 0L));
+            when(userPointRepository.findById(2L)).thenReturn(new UserPoint(2L, 10L, 0L));
+            when(userPointRepository.save(any(UserPoint.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            // when
+            PointTransferResult result = pointService.transferPoint(1L, 2L, 30L);
+
+            // then
+            assertThat(result.from().point()).isEqualTo(70L);
+            assertThat(result.to().point()).isEqualTo(40L);
+            ArgumentCaptor<PointHistory> histories = ArgumentCaptor.forClass(PointHistory.class);
+            verify(pointHistoryRepository, times(2)).save(histories.capture());
+            assertThat(histories.getAllValues()).extracting(PointHistory::userId, PointHistory::type)
+                    .containsExactly(
+                            tuple(1L, TransactionType.USE),
+                            tuple(2L, TransactionType.CHARGE));
+        }
+
+        // 테스트 작성 이유: 받는 회원의 내역 기록이 실패하면 두 잔액이 모두 되돌려지는지 검증하기 위해
+        @Test
+        @DisplayName("받는 회원의 내역 기록에 실패하면 두 회원의 잔액을 되돌리고 ChargePointFailureException이 발생한다.")
+        void givenReceiverHistorySaveError_whenTransferPoint_thenRollbackBothUsers() {
+            // given
+            UserPoint from = new UserPoint(1L, 100L, 0L);
+            UserPoint to = new UserPoint(2L, 10L, 0L);
+            when(userPointRepository.findById(1L)).thenReturn(from);
+            when(userPointRepository.findById(2L)).thenReturn(to);
+            when(userPointRepository.save(any(UserPoint.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(pointHistoryRepository.save(any(PointHistory.class)))
+                    .thenAnswer(inv -> inv.getArgument(0))
+                    .thenThrow(new RuntimeException("내역 저장 실패"))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            // when
+            ThrowableAssert.ThrowingCallable transfer = () -> pointService.transferPoint(1L, 2L, 30L);
+
+            // then
+            assertThatThrownBy(transfer).isInstanceOf(ChargePointFailureException.class);
+            verify(userPointRepository).save(from);
+            verify(userPointRepository).save(to);
+        }
+
+        // 테스트 작성 이유: 두 회원을 함께 되돌릴 수 없는 샤드 엔진 사용 중에는 사용만 반영되고 포인트가 사라지는 이체를 시작조차 하지 않는지 검증하기 위해
+        @Test
+        @DisplayName("샤드 엔진을 쓰는 중이면 잔액을 바꾸지 않고 TransferNotSupportedException이 발생한다.")
+        void givenShardedEngine_whenTransferPoint_thenRejectWithoutWrite() {
+            // given
+            ShardedPointEngine shardedPointEngine = mock(ShardedPointEngine.class);
+            when(shardedPointEngine.isEnabled()).thenReturn(true);
+            keyedSerialExecutor.shutdown();
+            PointService shardedPointService = newPointService(new LockManager(), shardedPointEngine);
+
+            // when
+            ThrowableAssert.ThrowingCallable transfer = () -> shardedPointService.transferPoint(1L, 2L, 30L);
+
+            // then
+            assertThatThrownBy(transfer).isInstanceOf(TransferNotSupportedException.class);
+            verify(userPointRepository, never()).save(any(UserPoint.class));
+            verify(pointHistoryRepository, never()).save(any(PointHistory.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("포인트 내역 내보내기 - forEachPointHistory()")
+    class ForEachPointHistoryTest {
+        // 테스트 작성 이유: 여러 커서 페이지에 걸친 내역이 빠짐없이, 기록 시각 범위에 맞는 것만 순서대로 전달되는지 검증하기 위해
+        @Test
+        @DisplayName("내역이 여러 페이지에 걸쳐 있으면 모든 페이지를 이어 읽고, [from, to) 범위의 내역만 id 순으로 전달한다.")
+        void givenHistoriesOverPages_whenForEachPointHistory_thenVisitRangeInOrder() {
+            // given
+            long userId = 1L;
+            List<PointHistory> stored = LongStream.rangeClosed(1, 250)
+                    .mapToObj(id -> new PointHistory(id, userId, 10L, TransactionType.CHARGE, id * 1000L))
+                    .toList();
+            when(pointHistoryRepository.findAllByUserId(eq(userId), any(CursorRequest.class)))
+                    .thenAnswer(inv -> PaginationManager.seek(stored, inv.getArgument(1), PointHistory::id));
+            List<PointHistory> visited = new ArrayList<>();
+
+            // when
+            pointService.forEachPointHistory(userId, 50_000L, 220_000L, visited::add);
+
+            // then
+            assertThat(visited).extracting(PointHistory::id)
+                    .containsExactlyElementsOf(LongStream.range(50, 220).boxed().toList());
+            verify(pointHistoryRepository, times(3)).findAllByUserId(eq(userId), any(CursorRequest.class));
+        }
+    }
 }
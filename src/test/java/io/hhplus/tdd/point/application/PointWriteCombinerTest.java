@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.common.exception.AmountExceedBalanceException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointWriteCombinerTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private PointWriteCombiner pointWriteCombiner;
+
+    @BeforeEach
+    void beforeEach() {
+        lenient().when(userPointRepository.writeLocked(anyLong(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        pointWriteCombiner = new PointWriteCombiner(new LockManager(), userPointRepository, pointHistoryRepository,
+                new PointMetrics(new SimpleMeterRegistry()), true);
+    }
+
+    // 테스트 작성 이유: 묶인 요청이 도착 순서대로 누적 잔액에 대해 검증되고, 저장은 한 번만 일어나는지 검증하기 위해
+    @Test
+    @DisplayName("묶인 요청 중 잔액을 초과하는 요청만 거절되고, 나머지는 UserPoint 저장 1회로 반영된다.")
+    void givenBatch_whenCommit_thenRejectOnlyExceededCommandAndSaveOnce() {
+        // given
+        long userId = 0L;
+        when(userPointRepository.findById(userId))
+                .thenReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        when(userPointRepository.save(any(UserPoint.class)))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        PointCommand charge = new PointCommand(TransactionType.CHARGE, 100L);
+        PointCommand overdraw = new PointCommand(TransactionType.USE, 500L);
+        PointCommand use = new PointCommand(TransactionType.USE, 50L);
+
+        // when
+        pointWriteCombiner.commit(userId, List.of(charge, overdraw, use));
+
+        // then
+        assertThat(charge.await().point()).isEqualTo(100L);
+        assertThat(use.await().point()).isEqualTo(50L);
+        ThrowableAssert.ThrowingCallable overdrawCase = overdraw::await;
+        assertThatThrownBy(overdrawCase).isInstanceOf(AmountExceedBalanceException.class);
+
+        ArgumentCaptor<UserPoint> userPointCaptor = ArgumentCaptor.forClass(UserPoint.class);
+        verify(userPointRepository, times(1)).save(userPointCaptor.capture());
+        assertThat(userPointCaptor.getValue().point()).isEqualTo(50L);
+        verify(pointHistoryRepository, times(2)).save(any(PointHistory.class));
+    }
+
+    // 테스트 작성 이유: 동시에 들어온 같은 회원의 요청이 묶여서 처리되어도 잔액이 일관성을 유지하는지 검증하기 위해
+    @Test
+    @DisplayName("같은 회원에게 동시에 충전 요청이 몰리면 요청 수보다 적은 저장으로 모든 충전이 반영된다.")
+    void givenConcurrentCharge_whenCharge_thenCombineSaves() throws InterruptedException {
+        // given
+        long userId = 0L;
+        long amount = 100L;
+        int threadCount = 10;
+
+        AtomicReference<UserPoint> stored = new AtomicReference<>(UserPoint.empty(userId));
+        when(userPointRepository.findById(userId))
+                .thenAnswer(inv -> stored.get());
+        when(userPointRepository.save(any(UserPoint.class)))
+                .thenAnswer(inv -> {
+                    TimeUnit.MILLISECONDS.sleep(50L);
+                    stored.set(inv.getArgument(0));
+                    return inv.getArgument(0);
+                });
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            threadPool.submit(() -> {
+                try {
+                    start.await();
+                    pointWriteCombiner.charge(userId, amount);
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        threadPool.shutdown();
+
+        // then
+        assertThat(failures).isEmpty();
+        assertThat(stored.get().point()).isEqualTo(amount * threadCount);
+        verify(userPointRepository, atMost(threadCount - 1)).save(any(UserPoint.class));
+        verify(pointHistoryRepository, times(threadCount)).save(any(PointHistory.class));
+    }
+}
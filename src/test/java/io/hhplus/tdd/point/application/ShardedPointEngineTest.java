@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.common.LockManager;
+import io.hhplus.tdd.common.exception.ChargePointFailureException;
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedPointEngineTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private ShardedPointEngine shardedPointEngine;
+
+    @BeforeEach
+    void beforeEach() {
+        lenient().when(userPointRepository.writeLocked(anyLong(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        PointWriteCombiner pointWriteCombiner = new PointWriteCombiner(new LockManager(), userPointRepository, pointHistoryRepository,
+                new PointMetrics(new SimpleMeterRegistry()), false);
+        shardedPointEngine = new ShardedPointEngine(pointWriteCombiner, true, 4, 1024, 1000L);
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        shardedPointEngine.shutdown();
+    }
+
+    // 테스트 작성 이유: 회원 락 없이도 같은 회원의 동시 요청이 한 작성기 스레드에서만 처리되어 잔액이 유실되지 않는지 검증하기 위해
+    @Test
+    @DisplayName("같은 회원에게 동시에 충전하면 한 샤드 작성기만 잔액을 저장하고, 모든 충전이 반영된다.")
+    void givenConcurrentCharges_whenCharge_thenSingleWriterAppliesAll() throws InterruptedException {
+        // given
+        long userId = 0L;
+        AtomicReference<UserPoint> stored = new AtomicReference<>(UserPoint.empty(userId));
+        Set<String> writerThreads = ConcurrentHashMap.newKeySet();
+        when(userPointRepository.findById(userId)).thenAnswer(inv -> stored.get());
+        when(userPointRepository.save(any(UserPoint.class))).thenAnswer(inv -> {
+            writerThreads.add(Thread.currentThread().getName());
+            stored.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        int requestCount = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executor.submit(() -> shardedPointEngine.charge(userId, 10L));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(stored.get().point()).isEqualTo(requestCount * 10L);
+        assertThat(writerThreads).hasSize(1);
+        assertThat(writerThreads.iterator().next()).startsWith("point-engine-shard-");
+        verify(pointHistoryRepository, times(requestCount)).save(any(PointHistory.class));
+    }
+
+    // 테스트 작성 이유: 반영 중 Error가 나도 작성기 스레드가 죽지 않아, 같은 샤드의 이후 요청이 계속 처리되는지 검증하기 위해
+    @Test
+    @DisplayName("반영 중 Error가 발생하면 그 요청만 실패하고, 작성기는 살아 있어 다음 요청을 처리한다.")
+    void givenErrorWhileCommit_whenChargeAgain_thenWriterSurvives() {
+        // given
+        long userId = 0L;
+        when(userPointRepository.findById(userId))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(UserPoint.empty(userId));
+        when(userPointRepository.save(any(UserPoint.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // when
+        Throwable failure = catchThrowable(() -> shardedPointEngine.charge(userId, 10L));
+        UserPoint userPoint = shardedPointEngine.charge(userId, 10L);
+
+        // then
+        assertThat(failure).isInstanceOf(ChargePointFailureException.class);
+        assertThat(userPoint.point()).isEqualTo(10L);
+    }
+}
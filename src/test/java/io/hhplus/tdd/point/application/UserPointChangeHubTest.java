@@ -0,0 +1,243 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserPointChangeHubTest {
+
+    private final AtomicReference<UserPoint> stored = new AtomicReference<>();
+
+    private UserPointChangeHub userPointChangeHub;
+
+    @BeforeEach
+    void beforeEach() {
+        UserPointRepository userPointRepository = mock(UserPointRepository.class);
+        when(userPointRepository.findById(anyLong())).thenAnswer(inv -> stored.get());
+        userPointChangeHub = new UserPointChangeHub(userPointRepository, 2, 0L);
+    }
+
+    @AfterEach
+    void afterEach() {
+        userPointChangeHub.shutdown();
+    }
+
+    // 테스트 작성 이유: 전송 중에 잔액이 여러 번 바뀌면 중간 잔액은 건너뛰고 마지막 잔액만 받는지 검증하기 위해
+    @Test
+    @DisplayName("구독자에게 전송하는 동안 잔액이 여러 번 바뀌면, 구독자는 마지막 잔액만 이어서 받는다.")
+    void givenChangesWhileSending_whenPublish_thenDeliverLatestInOrder() throws InterruptedException {
+        // given
+        long userId = 1L;
+        CountDownLatch firstDelivered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch latestDelivered = new CountDownLatch(1);
+        List<UserPoint> received = new CopyOnWriteArrayList<>();
+        userPointChangeHub.subscribe(userId, new UserPointChangeHub.Listener() {
+            @Override
+            public void onChange(UserPoint userPoint) {
+                received.add(userPoint);
+                firstDelivered.countDown();
+                if (userPoint.point() == 400L) {
+                    latestDelivered.countDown();
+                }
+                awaitQuietly(release);
+            }
+
+            @Override
+            public void onHeartbeat() {
+            }
+        });
+
+        // when
+        stored.set(new UserPoint(userId, 100L, 1L));
+        userPointChangeHub.publish(userId);
+        firstDelivered.await(5, TimeUnit.SECONDS);
+        stored.set(new UserPoint(userId, 200L, 2L));
+        userPointChangeHub.publish(userId);
+        stored.set(new UserPoint(userId, 400L, 4L));
+        userPointChangeHub.publish(userId);
+        release.countDown();
+
+        // then
+        assertThat(latestDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).extracting(UserPoint::point).containsExactly(100L, 400L);
+    }
+
+    // 테스트 작성 이유: 연결이 끊겨 전송에 실패한 구독자가 정리되어 구독자 수가 늘어나기만 하지 않는지 검증하기 위해
+    @Test
+    @DisplayName("전송에 실패한 구독자는 구독이 해지된다.")
+    void givenFailingListener_whenPublish_thenUnsubscribe() throws InterruptedException {
+        // given
+        long userId = 1L;
+        CountDownLatch attempted = new CountDownLatch(1);
+        userPointChangeHub.subscribe(userId, new UserPointChangeHub.Listener() {
+            @Override
+            public void onChange(UserPoint userPoint) throws IOException {
+                attempted.countDown();
+                throw new IOException("연결 끊김");
+            }
+
+            @Override
+            public void onHeartbeat() {
+            }
+        });
+
+        // when
+        stored.set(new UserPoint(userId, 100L, 1L));
+        userPointChangeHub.publish(userId);
+
+        // then
+        assertThat(attempted.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (userPointChangeHub.subscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(userPointChangeHub.subscriberCount()).isZero();
+    }
+
+    // 테스트 작성 이유: 먼저 반영된 변경의 게시가 나중 변경의 게시보다 늦게 도착해도, 구독자가 이전 잔액을 받지 않는지 검증하기 위해
+    @Test
+    @DisplayName("반영 순서와 게시 순서가 뒤바뀌어도, 구독자는 저장된 최신 잔액만 반영 순서대로 받는다.")
+    void givenLatePublishOfEarlierCommit_whenPublish_thenNeverDeliverStale() throws InterruptedException {
+        // given
+        long userId = 1L;
+        CountDownLatch lastDelivered = new CountDownLatch(1);
+        List<UserPoint> received = new CopyOnWriteArrayList<>();
+        userPointChangeHub.subscribe(userId, new UserPointChangeHub.Listener() {
+            @Override
+            public void onChange(UserPoint userPoint) {
+                received.add(userPoint);
+                if (userPoint.point() == 500L) {
+                    lastDelivered.countDown();
+                }
+            }
+
+            @Override
+            public void onHeartbeat() {
+            }
+        });
+
+        // when
+        stored.set(new UserPoint(userId, 300L, 3L)); // 먼저 반영된 변경 (게시는 늦게 도착)
+        stored.set(new UserPoint(userId, 400L, 3L)); // 같은 밀리초에 나중에 반영된 변경
+        userPointChangeHub.publish(userId);
+        userPointChangeHub.publish(userId); // 먼저 반영된 변경의 늦은 게시
+        stored.set(new UserPoint(userId, 500L, 4L));
+        userPointChangeHub.publish(userId);
+
+        // then
+        assertThat(lastDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).extracting(UserPoint::point).doesNotContain(300L).endsWith(500L);
+        assertThat(received).extracting(UserPoint::point).isSorted();
+    }
+
+    // 테스트 작성 이유: 쓰기가 멈춘 구독자 때문에 같은 회원의 다른 구독자가 늦어지지 않고, 멈춘 구독자는 제한 시간 뒤 떼어지는지 검증하기 위해
+    @Test
+    @DisplayName("전송이 제한 시간을 넘긴 구독자는 해지되고 연결이 닫히며, 다른 구독자는 계속 최신 잔액을 받는다.")
+    void givenStalledListener_whenPublish_thenDropItAndKeepOthers() throws InterruptedException {
+        // given
+        long userId = 1L;
+        userPointChangeHub.shutdown();
+        UserPointRepository userPointRepository = mock(UserPointRepository.class);
+        when(userPointRepository.findById(anyLong())).thenAnswer(inv -> stored.get());
+        userPointChangeHub = new UserPointChangeHub(userPointRepository, 1, 0L, 100L);
+
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch dropped = new CountDownLatch(1);
+        userPointChangeHub.subscribe(userId, new UserPointChangeHub.Listener() {
+            @Override
+            public void onChange(UserPoint userPoint) {
+                stalled.countDown();
+                awaitQuietly(release);
+            }
+
+            @Override
+            public void onHeartbeat() {
+            }
+
+            @Override
+            public void onDropped() {
+                dropped.countDown();
+            }
+        });
+        CountDownLatch latestDelivered = new CountDownLatch(1);
+        List<UserPoint> received = new CopyOnWriteArrayList<>();
+        userPointChangeHub.subscribe(userId, new UserPointChangeHub.Listener() {
+            @Override
+            public void onChange(UserPoint userPoint) {
+                received.add(userPoint);
+                if (userPoint.point() == 200L) {
+                    latestDelivered.countDown();
+                }
+            }
+
+            @Override
+            public void onHeartbeat() {
+            }
+        });
+
+        // when
+        stored.set(new UserPoint(userId, 100L, 1L));
+        userPointChangeHub.publish(userId);
+        assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200L);
+        stored.set(new UserPoint(userId, 200L, 2L));
+        userPointChangeHub.publish(userId);
+
+        // then
+        try {
+            assertThat(latestDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(dropped.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(received).extracting(UserPoint::point).containsExactly(100L, 200L);
+            assertThat(userPointChangeHub.subscriberCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    // 테스트 작성 이유: 종료(@PreDestroy) 뒤에 들어온 게시가 거절 예외로 충전/사용 요청을 실패시키지 않는지 검증하기 위해
+    @Test
+    @DisplayName("허브가 종료된 뒤의 게시는 예외 없이 무시된다.")
+    void givenShutdown_whenPublish_thenIgnore() {
+        // given
+        long userId = 1L;
+        userPointChangeHub.subscribe(userId, new UserPointChangeHub.Listener() {
+            @Override
+            public void onChange(UserPoint userPoint) {
+            }
+
+            @Override
+            public void onHeartbeat() {
+            }
+        });
+        userPointChangeHub.shutdown();
+
+        // when & then
+        assertThatCode(() -> userPointChangeHub.publish(userId)).doesNotThrowAnyException();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.concurrency;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.hhplus.tdd.TddApplication;
+
+/**
+ * 테이블 지연으로 대부분의 시간을 잠들어 보내는 조회 요청을 실제 엔드포인트(GET /point/{id})로 동시에 보내,
+ * spring.threads.virtual.enabled 설정에 따라 Tomcat이 요청을 처리하는 시간을 비교합니다.
+ * 두 설정으로 애플리케이션을 각각 띄우고, 요청 실행기가 설정대로 바뀌었는지 먼저 확인합니다.
+ * 플랫폼 스레드 풀은 server.tomcat.threads.max로 작게 잡아 동시 요청 수가 풀 크기를 넘도록 했고,
+ * 캐시를 꺼 매 요청이 UserPointTable 지연을 그대로 겪도록 했습니다.
+ */
+public class VirtualThreadCapacityTest {
+
+    private static final int PLATFORM_POOL_SIZE = 20;
+    private static final int REQUEST_COUNT = 400;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    // 테스트 작성 이유: spring.threads.virtual.enabled를 켜면 Tomcat 요청 처리가 실제로 가상 스레드로 바뀌어, 스레드 풀 크기를 넘는 동시 요청을 더 빨리 처리하는지 검증하기 위해
+    @Test
+    @DisplayName("동시 요청이 Tomcat 스레드 풀 크기를 넘으면 가상 스레드 설정에서 더 빠르게 처리한다.")
+    void givenManyConcurrentRequests_whenVirtualThreadsEnabled_thenFinishFasterThanPlatformPool() throws Exception {
+        // given
+        long platformMillis;
+        try (ConfigurableApplicationContext platform = start(false)) {
+            assertThat(requestExecutor(platform))
+                    .isInstanceOfSatisfying(ThreadPoolExecutor.class,
+                            executor -> assertThat(executor.getMaximumPoolSize()).isEqualTo(PLATFORM_POOL_SIZE));
+
+            // when
+            platformMillis = runRequests(port(platform));
+        }
+
+        long virtualMillis;
+        try (ConfigurableApplicationContext virtual = start(true)) {
+            assertThat(requestExecutor(virtual)).isInstanceOf(VirtualThreadExecutor.class);
+
+            virtualMillis = runRequests(port(virtual));
+        }
+
+        // then
+        assertThat(virtualMillis)
+                .as("동시 요청 %d건 - 플랫폼 스레드(%d개): %dms, 가상 스레드: %dms",
+                        REQUEST_COUNT, PLATFORM_POOL_SIZE, platformMillis, virtualMillis)
+                .isLessThan(platformMillis);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(TddApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + PLATFORM_POOL_SIZE,
+                "--point.cache.enabled=false",
+                "--spring.jmx.enabled=false");
+    }
+
+    private static TomcatWebServer webServer(ConfigurableApplicationContext context) {
+        return (TomcatWebServer) ((ServletWebServerApplicationContext) context).getWebServer();
+    }
+
+    private static Executor requestExecutor(ConfigurableApplicationContext context) {
+        return webServer(context).getTomcat().getConnector().getProtocolHandler().getExecutor();
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return webServer(context).getPort();
+    }
+
+    private long runRequests(int port) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(REQUEST_COUNT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + i)).GET().build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AtomicUserPointRepositoryTest {
+
+    // 테스트 작성 이유: CAS에 실패한 갱신이 바뀐 잔액으로 다시 검증되어, 동시에 사용해도 잔액이 음수가 되지 않는지 검증하기 위해
+    @Test
+    @DisplayName("잔액보다 많은 사용 요청이 동시에 들어오면 잔액만큼만 반영되고 나머지는 거절된다.")
+    void givenConcurrentUses_whenUpdate_thenNeverBelowZero() throws InterruptedException {
+        // given
+        AtomicUserPointRepository repository = new AtomicUserPointRepository();
+        repository.save(new UserPoint(0L, 100L, 0L));
+
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                try {
+                    repository.update(0L, current -> {
+                        if (current < 1L) {
+                            throw new IllegalStateException("잔액 부족");
+                        }
+                        return current - 1L;
+                    });
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(repository.findById(0L).point()).isZero();
+        assertThat(rejected.get()).isEqualTo(100);
+    }
+}
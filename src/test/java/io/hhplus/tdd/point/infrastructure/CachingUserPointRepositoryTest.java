@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserPointRepositoryTest {
+
+    @Mock
+    private UserPointRepository delegate;
+
+    // 테스트 작성 이유: 한 번 조회한 UserPoint는 테이블을 거치지 않고 캐시에서 반환되는지 검증하기 위해
+    @Test
+    @DisplayName("같은 회원의 포인트를 두 번 조회하면 두 번째 조회는 캐시에서 반환된다.")
+    void givenCachedUserPoint_whenFindById_thenReturnFromCache() {
+        // given
+        long id = 0L;
+        CachingUserPointRepository repository = new CachingUserPointRepository(delegate, 10);
+        when(delegate.findById(id))
+                .thenReturn(new UserPoint(id, 100L, System.currentTimeMillis()));
+
+        // when
+        repository.findById(id);
+        UserPoint userPoint = repository.findById(id);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(100L);
+        verify(delegate, times(1)).findById(id);
+        assertThat(repository.stats().hits()).isEqualTo(1L);
+        assertThat(repository.stats().misses()).isEqualTo(1L);
+    }
+
+    // 테스트 작성 이유: 저장한 값이 테이블과 캐시에 함께 반영되어 이후 조회가 최신 값을 반환하는지 검증하기 위해
+    @Test
+    @DisplayName("UserPoint를 저장하면 테이블에 반영되고, 이후 조회는 저장된 값을 캐시에서 반환한다.")
+    void givenSavedUserPoint_whenFindById_thenReturnSavedValueWithoutTableRead() {
+        // given
+        long id = 0L;
+        CachingUserPointRepository repository = new CachingUserPointRepository(delegate, 10);
+        when(delegate.save(any(UserPoint.class)))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        // when
+        repository.save(new UserPoint(id, 500L, System.currentTimeMillis()));
+        UserPoint userPoint = repository.findById(id);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(500L);
+        verify(delegate).save(any(UserPoint.class));
+        verify(delegate, never()).findById(anyLong());
+    }
+
+    // 테스트 작성 이유: 최대 크기를 넘으면 가장 오래 사용되지 않은 항목이 제거되는지 검증하기 위해
+    @Test
+    @DisplayName("캐시가 가득 찬 상태에서 새 항목이 들어오면 가장 오래 사용되지 않은 항목이 제거된다.")
+    void givenFullCache_whenFindNewId_thenEvictLeastRecentlyUsed() {
+        // given
+        CachingUserPointRepository repository = new CachingUserPointRepository(delegate, 2);
+        when(delegate.findById(anyLong()))
+                .thenAnswer(inv -> UserPoint.empty(inv.getArgument(0)));
+
+        repository.findById(0L);
+        repository.findById(1L);
+        repository.findById(0L); // 0번을 최근 사용으로 갱신
+
+        // when
+        repository.findById(2L);
+        repository.findById(0L);
+        repository.findById(1L);
+
+        // then
+        assertThat(repository.stats().evictions()).isEqualTo(2L);
+        verify(delegate, times(1)).findById(0L);
+        verify(delegate, times(2)).findById(1L);
+    }
+}
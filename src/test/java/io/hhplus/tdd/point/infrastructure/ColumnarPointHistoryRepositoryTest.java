@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
+import io.hhplus.tdd.common.pagination.PageRequest;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarPointHistoryRepositoryTest {
+
+    // 테스트 작성 이유: 여러 회원의 내역이 섞여 저장되어도 회원별로 저장 순서대로, 테이블과 같은 id 규칙으로 조회되는지 검증하기 위해
+    @Test
+    @DisplayName("여러 회원의 내역을 번갈아 저장하면 회원별 페이지 조회와 커서 조회가 저장 순서대로 반환된다.")
+    void givenInterleavedHistories_whenFindAllByUserId_thenReturnUserRowsInOrder() {
+        // given
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+        for (int i = 0; i < 10_000; i++) {
+            long userId = i % 2;
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            repository.save(new PointHistory(0L, userId, i, type, i));
+        }
+
+        // when
+        List<PointHistory> page = repository.findAllByUserId(1L, new PageRequest(1, 3));
+        CursorPage<PointHistory> cursorPage = repository.findAllByUserId(0L, new CursorRequest(9_995L, 10));
+
+        // then
+        assertThat(page).containsExactly(
+                new PointHistory(8L, 1L, 7L, TransactionType.CHARGE, 7L),
+                new PointHistory(10L, 1L, 9L, TransactionType.USE, 9L),
+                new PointHistory(12L, 1L, 11L, TransactionType.CHARGE, 11L)
+        );
+        assertThat(cursorPage.items()).extracting(PointHistory::id).containsExactly(9_997L, 9_999L);
+        assertThat(cursorPage.nextCursor()).isNull();
+        assertThat(repository.findAllByUserId(2L, new PageRequest(0, 10))).isEmpty();
+    }
+
+    // 테스트 작성 이유: 기간 합계 버킷까지 포함해도 내역 한 건당 메모리 사용량이 목표(40바이트 미만)를 지키는지 검증하기 위해
+    @Test
+    @DisplayName("이틀 넘게 나눠 저장한 내역은 기간 합계 버킷까지 포함해 내역 한 건당 메모리 사용량이 40바이트 미만이다.")
+    void givenManyHistories_whenFootprint_thenLessThan40BytesPerRow() {
+        // given
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+        for (int i = 0; i < 200_000; i++) {
+            // 1초에 한 건씩, 회원마다 약 17분에 한 건
+            repository.save(new PointHistory(0L, i % 1_000, 100L, TransactionType.CHARGE, i * 1_000L));
+        }
+
+        // when
+        ColumnarPointHistoryRepository.ColumnFootprint footprint = repository.footprint();
+
+        // then
+        assertThat(footprint.rows()).isEqualTo(200_000L);
+        assertThat(footprint.bytesPerRow()).isLessThan(40L);
+    }
+}
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MappedPointLogTest {
+
+    private static final int SEGMENT_BYTES = MappedPointLog.RECORD_BYTES * 4;
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    // 테스트 작성 이유: 재시작 후 로그만으로 잔액과 포인트 내역이 기록 순서대로 복구되는지 검증하기 위해
+    @Test
+    @DisplayName("여러 세그먼트에 걸쳐 기록한 뒤 다시 열면 회원별 마지막 잔액과 포인트 내역이 순서대로 복구된다.")
+    void givenRecordsAcrossSegments_whenRecover_thenRestoreLastBalanceAndHistoriesInOrder() throws IOException {
+        // given
+        MappedPointLog pointLog = open();
+        pointLog.appendUserPoint(1L, 100L);
+        pointLog.appendPointHistory(new PointHistory(0L, 1L, 100L, TransactionType.CHARGE, 1L));
+        pointLog.appendUserPoint(2L, 50L);
+        pointLog.appendPointHistory(new PointHistory(0L, 2L, 50L, TransactionType.CHARGE, 2L));
+        pointLog.appendUserPoint(1L, 70L);
+        pointLog.appendPointHistory(new PointHistory(0L, 1L, 30L, TransactionType.USE, 3L));
+        pointLog.close();
+
+        // when
+        MappedPointLog recovered = open();
+
+        // then
+        assertThat(segmentCount()).isEqualTo(2L);
+        verify(userPointTable).insertOrUpdate(1L, 70L);
+        verify(userPointTable).insertOrUpdate(2L, 50L);
+        verify(userPointTable, never()).insertOrUpdate(1L, 100L);
+
+        assertThat(recovered.recoveredHistoryCount()).isEqualTo(3L);
+        assertThat(recovered.recoveredHistories(1L)).containsExactly(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L),
+                new PointHistory(3L, 1L, 30L, TransactionType.USE, 3L));
+        assertThat(recovered.recoveredHistories(2L)).containsExactly(
+                new PointHistory(2L, 2L, 50L, TransactionType.CHARGE, 2L));
+    }
+
+    // 테스트 작성 이유: 기록 도중 중단되어 손상된 꼬리 레코드가 복구 결과를 오염시키지 않는지 검증하기 위해
+    @Test
+    @DisplayName("마지막 레코드가 손상되어 있으면 그 앞까지만 복구하고, 이후 기록은 손상된 위치부터 이어 쓴다.")
+    void givenTornTailRecord_whenRecover_thenIgnoreTailAndAppendFromThere() throws IOException {
+        // given
+        MappedPointLog pointLog = open();
+        pointLog.appendUserPoint(1L, 100L);
+        pointLog.appendUserPoint(1L, 200L);
+        pointLog.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(String.format("%020d.wal", 0)).toFile(), "rw")) {
+            file.seek(MappedPointLog.RECORD_BYTES + 16L);
+            file.writeLong(999L);
+        }
+
+        // when
+        MappedPointLog recovered = open();
+        recovered.appendUserPoint(1L, 300L);
+        recovered.close();
+        clearInvocations(userPointTable);
+        open();
+
+        // then
+        verify(userPointTable).insertOrUpdate(1L, 300L);
+        verify(userPointTable, never()).insertOrUpdate(eq(1L), eq(999L));
+    }
+
+    // 테스트 작성 이유: 압축 후에는 삭제된 세그먼트 대신 스냅샷과 내역 보관 파일로 같은 상태가 복구되는지 검증하기 위해
+    @Test
+    @DisplayName("다 쓴 세그먼트를 압축하면 세그먼트가 삭제되고, 다시 열면 스냅샷과 이후 로그로 잔액이, 보관 파일과 이후 로그로 포인트 내역이 순서대로 복구된다.")
+    void givenCompactedLog_whenRecover_thenRestoreFromSnapshotAndRemainingSegments() throws IOException {
+        // given
+        MappedPointLog pointLog = open();
+        for (long i = 1; i <= 5; i++) {
+            pointLog.appendUserPoint(1L, i * 100L);
+            pointLog.appendPointHistory(new PointHistory(0L, 1L, 100L, TransactionType.CHARGE, i));
+        }
+        pointLog.compact();
+        pointLog.appendUserPoint(2L, 10L);
+        pointLog.appendPointHistory(new PointHistory(0L, 2L, 10L, TransactionType.CHARGE, 6L));
+        pointLog.close();
+
+        // when
+        MappedPointLog recovered = open();
+
+        // then
+        assertThat(Files.exists(directory.resolve(String.format("%020d.wal", 0)))).isFalse();
+        verify(userPointTable).insertOrUpdate(1L, 500L);
+        verify(userPointTable).insertOrUpdate(2L, 10L);
+
+        assertThat(recovered.recoveredHistories(1L))
+                .extracting(PointHistory::updateMillis)
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(recovered.recoveredHistories(2L))
+                .containsExactly(new PointHistory(recovered.recoveredHistoryCount(), 2L, 10L, TransactionType.CHARGE, 6L));
+    }
+
+    private MappedPointLog open() throws IOException {
+        MappedPointLog pointLog = new MappedPointLog(directory.toString(), SEGMENT_BYTES, true, 0L, userPointTable);
+        pointLog.recover();
+        return pointLog;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapUserPointRepositoryTest {
+
+    // 테스트 작성 이유: 구간이 여러 번 늘어나도 저장한 잔액이 유실되지 않고, 회원 id 0과 없는 회원도 테이블과 같게 조회되는지 검증하기 위해
+    @Test
+    @DisplayName("초기 용량보다 많은 회원을 저장해도 모든 잔액이 조회되고, 저장하지 않은 회원은 0 포인트로 조회된다.")
+    void givenMoreUsersThanInitialCapacity_whenSave_thenFindAllBalances() {
+        // given
+        OffHeapUserPointRepository repository = new OffHeapUserPointRepository(16);
+        int userCount = 100_000;
+
+        // when
+        LongStream.range(0, userCount).forEach(id -> repository.save(new UserPoint(id, id * 10, 0L)));
+        repository.save(new UserPoint(0L, 7L, 0L));
+
+        // then
+        assertThat(repository.findById(0L).point()).isEqualTo(7L);
+        assertThat(LongStream.range(1, userCount).allMatch(id -> repository.findById(id).point() == id * 10)).isTrue();
+        assertThat(repository.findById(userCount + 1L).point()).isZero();
+    }
+
+    // 테스트 작성 이유: 회원당 메모리 사용량이 슬롯 크기와 적재율로 정해지는 상한(64바이트)을 넘지 않는지 검증하기 위해
+    @Test
+    @DisplayName("회원을 저장하면 회원 한 명당 힙 밖 메모리 사용량은 64바이트 이하다.")
+    void givenUsers_whenFootprint_thenAtMost64BytesPerUser() {
+        // given
+        OffHeapUserPointRepository repository = new OffHeapUserPointRepository(16);
+        LongStream.range(0, 200_000).forEach(id -> repository.save(new UserPoint(id, 1L, 0L)));
+
+        // when
+        OffHeapUserPointRepository.MemoryFootprint footprint = repository.footprint();
+
+        // then
+        assertThat(footprint.users()).isEqualTo(200_000L);
+        assertThat(footprint.bytesPerMillionUsers()).isLessThanOrEqualTo(64L * 1_000_000L);
+    }
+
+    // 테스트 작성 이유: 수정 시각을 버전으로 쓰므로, 같은 밀리초 안에 저장이 겹쳐도 읽은 뒤의 저장을 놓치지 않는지 검증하기 위해
+    @Test
+    @DisplayName("조회한 뒤 다른 저장이 있었다면 조회 당시 버전으로는 저장되지 않는다.")
+    void givenSaveAfterRead_whenCompareAndSave_thenReject() {
+        // given
+        OffHeapUserPointRepository repository = new OffHeapUserPointRepository(16);
+        long version = repository.findVersionedById(1L).version();
+        Optional<UserPoint> first = repository.compareAndSave(new UserPoint(1L, 100L, 0L), version);
+        long readVersion = repository.findVersionedById(1L).version();
+        repository.save(new UserPoint(1L, 200L, 0L));
+
+        // when
+        Optional<UserPoint> stale = repository.compareAndSave(new UserPoint(1L, 300L, 0L), readVersion);
+
+        // then
+        assertThat(first).isPresent();
+        assertThat(stale).isEmpty();
+        assertThat(repository.findById(1L).point()).isEqualTo(200L);
+    }
+}
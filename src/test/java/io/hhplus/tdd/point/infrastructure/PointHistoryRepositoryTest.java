@@ -1,21 +1,26 @@
 package io.hhplus.tdd.point.infrastructure;
 
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.common.pagination.CursorPage;
+import io.hhplus.tdd.common.pagination.CursorRequest;
 import io.hhplus.tdd.common.pagination.PageRequest;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.domain.PointHistory;
 import io.hhplus.tdd.point.domain.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PointHistoryRepositoryTest {
@@ -23,6 +28,12 @@ class PointHistoryRepositoryTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
+    @Mock
+    private PointLog pointLog;
+
+    @Spy
+    private PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private PointHistoryRepositoryImpl pointHistoryRepository;
 
@@ -52,4 +63,76 @@ class PointHistoryRepositoryTest {
         assertThat(size5List).hasSize(5);
         assertThat(size0List).isEmpty();
     }
-}
\ No newline at end of file
+
+    // 테스트 작성 이유: 회원별 인덱스가 만들어진 뒤에는 조회/저장 시 테이블 전체를 다시 훑지 않는지 검증하기 위해
+    @Test
+    @DisplayName("한 번 조회한 회원의 내역은 저장 후에도 테이블을 다시 훑지 않고 인덱스에서 조회된다.")
+    void givenIndexedUser_whenSaveAndFindAllByUserId_thenNotRescanTable() {
+        // given
+        long userId = 0L;
+        PointHistory first = new PointHistory(1L, userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        PointHistory second = new PointHistory(2L, userId, 50L, TransactionType.USE, System.currentTimeMillis());
+        when(pointHistoryTable.selectAllByUserId(userId))
+                .thenReturn(List.of(first));
+        when(pointHistoryTable.insert(userId, second.amount(), second.type(), second.updateMillis()))
+                .thenReturn(second);
+
+        PageRequest pageRequest = new PageRequest(0, 10);
+        pointHistoryRepository.findAllByUserId(userId, pageRequest);
+
+        // when
+        pointHistoryRepository.save(second);
+        List<PointHistory> pointHistories = pointHistoryRepository.findAllByUserId(userId, pageRequest);
+
+        // then
+        assertThat(pointHistories).containsExactly(first, second);
+        verify(pointHistoryTable, times(1)).selectAllByUserId(userId);
+    }
+
+    // 테스트 작성 이유: 커서 기반 페이지네이션이 커서 다음 위치부터 조회하고 다음 커서를 올바르게 반환하는지 검증하기 위해
+    @Test
+    @DisplayName("커서가 주어지면 해당 id 이후의 PointHistory를 조회하고, 마지막 페이지에서는 다음 커서가 없다.")
+    void givenCursorRequest_whenFindAllByUserId_thenReturnPageAfterCursor() {
+        // given
+        long userId = 0L;
+        List<PointHistory> pointHistories = IntStream.rangeClosed(1, 15)
+                .mapToObj(i -> new PointHistory(i * 2L, userId, 100L, TransactionType.CHARGE, System.currentTimeMillis()))
+                .toList();
+        when(pointHistoryTable.selectAllByUserId(userId))
+                .thenReturn(pointHistories);
+
+        // when
+        CursorPage<PointHistory> first = pointHistoryRepository.findAllByUserId(userId, new CursorRequest(0L, 10));
+        CursorPage<PointHistory> second = pointHistoryRepository.findAllByUserId(userId, new CursorRequest(first.nextCursor(), 10));
+
+        // then
+        assertThat(first.items()).hasSize(10);
+        assertThat(first.nextCursor()).isEqualTo(20L);
+        assertThat(second.items()).hasSize(5);
+        assertThat(second.items().get(0).id()).isEqualTo(22L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    // 테스트 작성 이유: 로그에서 복구된 내역이 테이블을 거치지 않고 조회되고, 재시작 후 새로 저장한 내역의 id가 겹치지 않는지 검증하기 위해
+    @Test
+    @DisplayName("로그에서 복구된 내역이 있으면 테이블 내역 앞에 붙여 조회하고, 테이블이 매긴 id는 복구된 내역 수만큼 밀린다.")
+    void givenRecoveredHistories_whenSaveAndFind_thenShiftTableIds() {
+        // given
+        long userId = 1L;
+        PointHistory recovered = new PointHistory(1L, userId, 100L, TransactionType.CHARGE, 1L);
+        PointHistory toSave = new PointHistory(0L, userId, 30L, TransactionType.USE, 2L);
+        when(pointLog.recoveredHistoryCount()).thenReturn(5L);
+        when(pointLog.recoveredHistories(userId)).thenReturn(List.of(recovered));
+        PointHistory inserted = new PointHistory(1L, userId, 30L, TransactionType.USE, 2L);
+        when(pointHistoryTable.insert(userId, 30L, TransactionType.USE, 2L)).thenReturn(inserted);
+        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(List.of(inserted));
+
+        // when
+        PointHistory saved = pointHistoryRepository.save(toSave);
+        List<PointHistory> pointHistories = pointHistoryRepository.findAllByUserId(userId, new PageRequest(0, 10));
+
+        // then
+        assertThat(saved.id()).isEqualTo(6L);
+        assertThat(pointHistories).containsExactly(recovered, saved);
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointHistoryRingTest {
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    // 테스트 작성 이유: 건너뛴 자리에서 작성기가 멈추지 않고, 가득 찬 링은 예약을 거절하는지 검증하기 위해
+    @Test
+    @DisplayName("건너뛴 자리는 기록하지 않고 이어서 기록하며, 가득 차면 자리를 예약하지 않는다.")
+    void givenSkippedAndFullRing_whenDrain_thenWriteOnlyPublished() throws InterruptedException {
+        // given
+        PointHistoryRing ring = new PointHistoryRing(pointHistoryRepository, 2);
+        long first = ring.claim();
+        long second = ring.claim();
+        long overflow = ring.claim();
+
+        // when
+        ring.skip(first);
+        ring.publish(second, new PointHistory(0L, 1L, 100L, TransactionType.CHARGE, 0L));
+        ring.shutdown();
+
+        // then
+        assertThat(overflow).isEqualTo(-1L);
+        ArgumentCaptor<PointHistory> captor = ArgumentCaptor.forClass(PointHistory.class);
+        verify(pointHistoryRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().amount()).isEqualTo(100L);
+        assertThat(ring.queuedCount()).isZero();
+    }
+
+    // 테스트 작성 이유: 기록이 여러 번 실패해도 내역을 버리지 않고, 저장소가 회복되면 결국 기록되는지 검증하기 위해
+    @Test
+    @DisplayName("기록이 3번 넘게 실패한 뒤 회복되면, 내역은 버려지지 않고 기록된다.")
+    void givenRepositoryFailsThenRecovers_whenDrain_thenEventuallySave() throws InterruptedException {
+        // given
+        PointHistory pointHistory = new PointHistory(0L, 1L, 100L, TransactionType.CHARGE, 0L);
+        when(pointHistoryRepository.save(pointHistory))
+                .thenThrow(new IllegalStateException("저장소 장애"))
+                .thenThrow(new IllegalStateException("저장소 장애"))
+                .thenThrow(new IllegalStateException("저장소 장애"))
+                .thenThrow(new IllegalStateException("저장소 장애"))
+                .thenThrow(new IllegalStateException("저장소 장애"))
+                .thenReturn(pointHistory);
+        PointHistoryRing ring = new PointHistoryRing(pointHistoryRepository, 2);
+
+        // when
+        ring.publish(ring.claim(), pointHistory);
+        ring.shutdown();
+
+        // then
+        verify(pointHistoryRepository, times(6)).save(pointHistory);
+        assertThat(ring.queuedCount()).isZero();
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.hhplus.tdd.point.infrastructure.PointHistoryRollup.BUCKET_MILLIS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointHistoryRollupTest {
+
+    // 테스트 작성 이유: 시각 순서가 뒤바뀐 내역이 끼어들어도 기간 합계가 버킷 경계 기준으로 정확히 계산되는지 검증하기 위해
+    @Test
+    @DisplayName("내역이 시각 순서와 다르게 추가되어도 기간의 충전/사용 합계는 버킷 경계로 넓힌 기간의 합과 같다.")
+    void givenOutOfOrderHistories_whenSummarize_thenSumWithinAlignedRange() {
+        // given
+        PointHistoryRollup rollup = new PointHistoryRollup();
+        long userId = 1L;
+        rollup.add(new PointHistory(1L, userId, 100L, TransactionType.CHARGE, 0L));
+        rollup.add(new PointHistory(2L, userId, 30L, TransactionType.USE, 5 * BUCKET_MILLIS));
+        rollup.add(new PointHistory(3L, userId, 200L, TransactionType.CHARGE, 9 * BUCKET_MILLIS));
+        rollup.add(new PointHistory(4L, userId, 50L, TransactionType.CHARGE, 2 * BUCKET_MILLIS)); // 지난 시각의 새 버킷
+        rollup.add(new PointHistory(5L, userId, 20L, TransactionType.USE, 5 * BUCKET_MILLIS + 1));
+
+        // when
+        PointSummary summary = rollup.summarize(userId, 2 * BUCKET_MILLIS + 10, 8 * BUCKET_MILLIS + 10);
+
+        // then
+        assertThat(summary.fromMillis()).isEqualTo(2 * BUCKET_MILLIS);
+        assertThat(summary.toMillis()).isEqualTo(9 * BUCKET_MILLIS);
+        assertThat(summary.chargeAmount()).isEqualTo(50L);
+        assertThat(summary.useAmount()).isEqualTo(50L);
+        assertThat(rollup.summarize(userId, 0L, Long.MAX_VALUE).chargeAmount()).isEqualTo(350L);
+    }
+}
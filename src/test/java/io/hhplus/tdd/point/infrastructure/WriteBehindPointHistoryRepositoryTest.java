@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.common.pagination.PageRequest;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindPointHistoryRepositoryTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private WriteBehindPointHistoryRepository pointHistoryRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        pointHistoryRepository = new WriteBehindPointHistoryRepository(new PointHistoryRepositoryImpl(pointHistoryTable, new PointMetrics(new SimpleMeterRegistry()),
+                new NoOpPointLog()), 1, 16, 100L);
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        pointHistoryRepository.shutdown();
+    }
+
+    // 테스트 작성 이유: 테이블에 쓰기 전인 내역도 조회 결과에 포함되고, 기록이 끝나면 id가 부여된 내역으로 바뀌는지 검증하기 위해
+    @Test
+    @DisplayName("내역을 저장하면 테이블 기록을 기다리지 않고 반환되며, 기록 전후 모두 조회 결과에 한 번만 포함된다.")
+    void givenSlowTable_whenSave_thenReturnImmediatelyAndMergePendingOnRead() throws InterruptedException {
+        // given
+        long userId = 0L;
+        long updateMillis = System.currentTimeMillis();
+        CountDownLatch tableReleased = new CountDownLatch(1);
+        when(pointHistoryTable.insert(eq(userId), eq(100L), eq(TransactionType.CHARGE), anyLong()))
+                .thenAnswer(inv -> {
+                    tableReleased.await();
+                    return new PointHistory(1L, userId, 100L, TransactionType.CHARGE, updateMillis);
+                });
+        PageRequest pageRequest = new PageRequest(0, 10);
+
+        // when
+        pointHistoryRepository.save(new PointHistory(0L, userId, 100L, TransactionType.CHARGE, updateMillis));
+        List<PointHistory> beforeFlush = pointHistoryRepository.findAllByUserId(userId, pageRequest);
+
+        tableReleased.countDown();
+        List<PointHistory> afterFlush = awaitFlushed(userId, pageRequest);
+
+        // then
+        assertThat(beforeFlush).hasSize(1);
+        assertThat(beforeFlush.get(0).id()).isZero();
+        assertThat(afterFlush).hasSize(1);
+        assertThat(afterFlush.get(0).id()).isEqualTo(1L);
+    }
+
+    // 테스트 작성 이유: 테이블 기록이 여러 번 실패해도 내역을 버리지 않고, 테이블이 회복되면 결국 기록되는지 검증하기 위해
+    @Test
+    @DisplayName("테이블 기록이 3번 넘게 실패한 뒤 회복되면, 대기 중인 내역은 버려지지 않고 기록된다.")
+    void givenTableFailsThenRecovers_whenSave_thenEventuallyFlush() throws InterruptedException {
+        // given
+        long userId = 0L;
+        long updateMillis = System.currentTimeMillis();
+        AtomicInteger attempts = new AtomicInteger();
+        when(pointHistoryTable.insert(eq(userId), eq(100L), eq(TransactionType.CHARGE), anyLong()))
+                .thenAnswer(inv -> {
+                    if (attempts.incrementAndGet() <= 5) {
+                        throw new IllegalStateException("테이블 장애");
+                    }
+                    return new PointHistory(1L, userId, 100L, TransactionType.CHARGE, updateMillis);
+                });
+        PageRequest pageRequest = new PageRequest(0, 10);
+
+        // when
+        pointHistoryRepository.save(new PointHistory(0L, userId, 100L, TransactionType.CHARGE, updateMillis));
+        List<PointHistory> histories = awaitFlushed(userId, pageRequest);
+
+        // then
+        assertThat(attempts).hasValue(6);
+        assertThat(histories).extracting(PointHistory::id).containsExactly(1L);
+    }
+
+    // 테스트 작성 이유: 저장 요청이 반환될 때 내역이 이미 로그에 남아 있어, 테이블에 쓰기 전에 멈춰도 복구할 수 있는지 검증하기 위해
+    @Test
+    @DisplayName("내역을 저장하면 반환하기 전에 로그에 기록되고, 작성기가 테이블에 쓸 때는 로그에 다시 기록하지 않는다.")
+    void givenSlowTable_whenSave_thenAppendToLogOnceBeforeReturn() throws InterruptedException {
+        // given
+        long userId = 0L;
+        long updateMillis = System.currentTimeMillis();
+        PointLog pointLog = mock(PointLog.class);
+        pointHistoryRepository.shutdown();
+        pointHistoryRepository = new WriteBehindPointHistoryRepository(new PointHistoryRepositoryImpl(pointHistoryTable, new PointMetrics(new SimpleMeterRegistry()),
+                pointLog), 1, 16, 100L);
+
+        CountDownLatch tableReleased = new CountDownLatch(1);
+        when(pointHistoryTable.insert(eq(userId), eq(100L), eq(TransactionType.CHARGE), anyLong()))
+                .thenAnswer(inv -> {
+                    tableReleased.await();
+                    return new PointHistory(1L, userId, 100L, TransactionType.CHARGE, updateMillis);
+                });
+        PointHistory pointHistory = new PointHistory(0L, userId, 100L, TransactionType.CHARGE, updateMillis);
+
+        // when
+        pointHistoryRepository.save(pointHistory);
+
+        // then
+        verify(pointLog).appendPointHistory(pointHistory);
+
+        tableReleased.countDown();
+        assertThat(awaitFlushed(userId, new PageRequest(0, 10))).extracting(PointHistory::id).containsExactly(1L);
+        verify(pointLog, times(1)).appendPointHistory(any(PointHistory.class));
+    }
+
+    private List<PointHistory> awaitFlushed(long userId, PageRequest pageRequest) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(userId, pageRequest);
+        while (histories.stream().anyMatch(history -> history.id() == 0L) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+            histories = pointHistoryRepository.findAllByUserId(userId, pageRequest);
+        }
+        return histories;
+    }
+}
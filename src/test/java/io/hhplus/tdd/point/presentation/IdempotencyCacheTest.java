@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.common.metrics.PointMetrics;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyCacheTest {
+
+    private IdempotencyCache idempotencyCache;
+
+    @BeforeEach
+    void beforeEach() {
+        idempotencyCache = new IdempotencyCache(new PointMetrics(new SimpleMeterRegistry()), true, 100, 600L);
+    }
+
+    // 테스트 작성 이유: 처리 중에 온 중복 요청과 처리 후 재시도가 다시 실행되지 않고 처음 요청의 결과를 받는지 검증하기 위해
+    @Test
+    @DisplayName("같은 Idempotency-Key로 충전을 반복하면 한 번만 실행되고 모든 요청이 같은 결과를 받는다.")
+    void givenSameIdempotencyKey_whenChargeRepeatedly_thenExecuteOnce() {
+        // given
+        long userId = 1L;
+        long amount = 100L;
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+
+        // when
+        CompletableFuture<UserPoint> first = idempotencyCache.execute(userId, "key-1", TransactionType.CHARGE, amount, () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+        CompletableFuture<UserPoint> duplicate = idempotencyCache.execute(userId, "key-1", TransactionType.CHARGE, amount, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(UserPoint.empty(userId));
+        });
+        inFlight.complete(new UserPoint(userId, amount, 0L));
+        CompletableFuture<UserPoint> retry = idempotencyCache.execute(userId, "key-1", TransactionType.CHARGE, amount, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(UserPoint.empty(userId));
+        });
+
+        // then
+        assertThat(executions).hasValue(1);
+        assertThat(first.join()).isEqualTo(new UserPoint(userId, amount, 0L));
+        assertThat(duplicate.join()).isEqualTo(first.join());
+        assertThat(retry.join()).isEqualTo(first.join());
+    }
+
+    // 테스트 작성 이유: 실패한 요청은 보관되지 않아 같은 키로 다시 시도하면 실제로 다시 처리되는지 검증하기 위해
+    @Test
+    @DisplayName("처음 요청이 실패하면 같은 Idempotency-Key로 다시 시도할 때 다시 실행된다.")
+    void givenFailedExecution_whenRetryWithSameKey_thenExecuteAgain() {
+        // given
+        long userId = 1L;
+        long amount = 100L;
+        AtomicInteger executions = new AtomicInteger();
+        idempotencyCache.execute(userId, "key-1", TransactionType.USE, amount, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("실패"));
+        });
+
+        // when
+        CompletableFuture<UserPoint> retry = idempotencyCache.execute(userId, "key-1", TransactionType.USE, amount, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(userId, 0L, 0L));
+        });
+
+        // then
+        assertThat(executions).hasValue(2);
+        assertThat(retry.join()).isEqualTo(new UserPoint(userId, 0L, 0L));
+    }
+}
@@ -88,8 +88,8 @@ class PointControllerTest {
         long amount = 100L;
 
 		// when
-		ThrowableAssert.ThrowingCallable zeroCase = () -> pointController.charge(zeroUserId, amount);
-		ThrowableAssert.ThrowingCallable negativeCase = () -> pointController.charge(negativeUserId, amount);
+		ThrowableAssert.ThrowingCallable zeroCase = () -> pointController.charge(zeroUserId, amount, null).join();
+		ThrowableAssert.ThrowingCallable negativeCase = () -> pointController.charge(negativeUserId, amount, null);
 
 		// then
 		assertThatCode(zeroCase).doesNotThrowAnyException();
@@ -101,20 +101,21 @@ class PointControllerTest {
 	@DisplayName("충전 금액으로 0 이하의 값이 주어졌을 때 포인트를 충전하면 ConstraintViolationException이 발생한다.")
 	void givenLEZeroAmount_whenChargePoint_thenThrowConstraintViolationException() {
 		// given
-		long userId = 0L;
+		long userId = 1_001L; // 다른 테스트와 잔액이 섞이지 않도록 이 테스트에서만 쓰는 회원
         long normalAmount = 100L;
 		long zeroAmount = 0L;
         long negativeAmount = -1L;
 
 		// when
-        ThrowableAssert.ThrowingCallable normalCase = () -> pointController.charge(userId, normalAmount);
-		ThrowableAssert.ThrowingCallable zeroCase = () -> pointController.charge(userId, zeroAmount);
-		ThrowableAssert.ThrowingCallable negativeCase = () -> pointController.charge(userId, negativeAmount);
+        ThrowableAssert.ThrowingCallable normalCase = () -> pointController.charge(userId, normalAmount, null).join();
+		ThrowableAssert.ThrowingCallable zeroCase = () -> pointController.charge(userId, zeroAmount, null);
+		ThrowableAssert.ThrowingCallable negativeCase = () -> pointController.charge(userId, negativeAmount, null);
 
 		// then
         assertThatCode(normalCase).doesNotThrowAnyException();
         assertThatThrownBy(zeroCase).isInstanceOf(ConstraintViolationException.class);
 		assertThatThrownBy(negativeCase).isInstanceOf(ConstraintViolationException.class);
+		assertThat(pointController.point(userId).point()).isEqualTo(normalAmount);
 	}
 
     // 테스트 작성 이유: 메서드 수준 Bean Validation(@PositiveOrZero)이 정상적으로 동작하는지 검증하기 위해
@@ -122,21 +123,23 @@ class PointControllerTest {
 	@DisplayName("사용 금액으로 0 이하의 값이 주어졌을 때 포인트를 사용하면 ConstraintViolationException이 발생한다.")
 	void givenLEZeroAmount_whenUsePoint_thenThrowConstraintViolationException() {
 		// given
-		long userId = 0L;
+		long userId = 1_002L; // 다른 테스트와 잔액이 섞이지 않도록 이 테스트에서만 쓰는 회원
         long normalAmount = 100L;
 		long zeroAmount = 0L;
         long negativeAmount = -1L;
 
-		pointController.charge(userId, normalAmount);
+		// 사용하기 전에 충전이 끝나 있어야 잔액 부족으로 실패하지 않는다.
+		pointController.charge(userId, normalAmount, null).join();
 
 		// when
-        ThrowableAssert.ThrowingCallable normalCase = () -> pointController.use(userId, normalAmount);
-		ThrowableAssert.ThrowingCallable zeroCase = () -> pointController.use(userId, zeroAmount);
-		ThrowableAssert.ThrowingCallable negativeCase = () -> pointController.use(userId, negativeAmount);
+        ThrowableAssert.ThrowingCallable normalCase = () -> pointController.use(userId, normalAmount, null).join();
+		ThrowableAssert.ThrowingCallable zeroCase = () -> pointController.use(userId, zeroAmount, null);
+		ThrowableAssert.ThrowingCallable negativeCase = () -> pointController.use(userId, negativeAmount, null);
 
 		// then
         assertThatCode(normalCase).doesNotThrowAnyException();
         assertThatThrownBy(zeroCase).isInstanceOf(ConstraintViolationException.class);
 		assertThatThrownBy(negativeCase).isInstanceOf(ConstraintViolationException.class);
+		assertThat(pointController.point(userId).point()).isZero();
 	}
 }